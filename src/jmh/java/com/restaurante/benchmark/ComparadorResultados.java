@@ -0,0 +1,76 @@
+package com.restaurante.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dos resultados JMH en JSON (-rf json) de commits distintos.
+ * Uso: java -cp target/benchmarks.jar com.restaurante.benchmark.ComparadorResultados base.json nuevo.json
+ * Un cambio se marca solo si la diferencia supera la suma de los intervalos de error de ambas mediciones.
+ */
+public final class ComparadorResultados {
+
+    private record Medicion(double puntaje, double error, String unidad) {
+    }
+
+    private ComparadorResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: ComparadorResultados <base.json> <nuevo.json>");
+            System.exit(2);
+        }
+        Map<String, Medicion> base = leer(new File(args[0]));
+        Map<String, Medicion> nuevo = leer(new File(args[1]));
+
+        System.out.printf("%-80s %14s %14s %9s  %s%n", "Benchmark", "Base", "Nuevo", "Cambio", "Veredicto");
+        for (Map.Entry<String, Medicion> e : nuevo.entrySet()) {
+            Medicion b = base.get(e.getKey());
+            Medicion n = e.getValue();
+            if (b == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", e.getKey(), "-", n.puntaje(), "-", "nuevo");
+                continue;
+            }
+            double cambio = (n.puntaje() - b.puntaje()) / b.puntaje() * 100.0;
+            String veredicto = Math.abs(n.puntaje() - b.puntaje()) <= b.error() + n.error()
+                    ? "sin cambio"
+                    : (mejor(n.unidad(), n.puntaje(), b.puntaje()) ? "MEJORA" : "REGRESIÓN");
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s (%s)%n",
+                    e.getKey(), b.puntaje(), n.puntaje(), cambio, veredicto, n.unidad());
+        }
+        base.keySet().stream()
+                .filter(k -> !nuevo.containsKey(k))
+                .forEach(k -> System.out.printf("%-80s %14.3f %14s %9s  %s%n", k, base.get(k).puntaje(), "-", "-", "eliminado"));
+    }
+
+    // Modo throughput (ops/tiempo): más es mejor; tiempo promedio (tiempo/op): menos es mejor
+    private static boolean mejor(String unidad, double nuevo, double base) {
+        return unidad.startsWith("ops/") ? nuevo > base : nuevo < base;
+    }
+
+    private static Map<String, Medicion> leer(File archivo) throws IOException {
+        Map<String, Medicion> mediciones = new LinkedHashMap<>();
+        for (JsonNode r : new ObjectMapper().readTree(archivo)) {
+            StringBuilder clave = new StringBuilder(r.path("benchmark").asText()
+                    .replace("com.restaurante.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = r.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> p = params.next();
+                clave.append(' ').append(p.getKey()).append('=').append(p.getValue().asText());
+            }
+            JsonNode metrica = r.path("primaryMetric");
+            double error = metrica.path("scoreError").asDouble(0);
+            mediciones.put(clave.toString(), new Medicion(metrica.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metrica.path("scoreUnit").asText()));
+        }
+        return mediciones;
+    }
+
+}
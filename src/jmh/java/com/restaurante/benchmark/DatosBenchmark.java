@@ -0,0 +1,55 @@
+package com.restaurante.benchmark;
+
+import com.restaurante.gestionPedidos.model.DetallePedido;
+import com.restaurante.gestionPedidos.model.Dinero;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionProductos.model.Producto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos de prueba deterministas (semilla fija) para que los resultados sean comparables entre commits.
+ */
+final class DatosBenchmark {
+
+    static final String[] CATEGORIAS = {
+            "Bebida Caliente", "Bebida Fría", "Plato Caliente", "Plato Frío", "Postre Caliente", "Postre Frío"
+    };
+
+    private static final long SEMILLA = 20241017L;
+
+    private DatosBenchmark() {
+    }
+
+    // Catálogo de n productos con precios entre $1.000 y $50.000
+    static List<Producto> productos(int cantidad) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        List<Producto> productos = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            BigDecimal precio = BigDecimal.valueOf(random.nextInt(1_000, 50_000)).setScale(2);
+            productos.add(new Producto((long) i, "Producto " + i,
+                    CATEGORIAS[i % CATEGORIAS.length], precio, random.nextInt(10) != 0));
+        }
+        return productos;
+    }
+
+    // Pedido con n líneas sobre productos del catálogo dado
+    static Pedido pedido(long id, int lineas, List<Producto> catalogo) {
+        SplittableRandom random = new SplittableRandom(SEMILLA + id);
+        Pedido pedido = new Pedido(id, "Mesa " + (id % 40));
+        pedido.setNombreMesero("Mesero " + (id % 8));
+        pedido.setFechaHora(LocalDateTime.of(2024, 10, 17, 12, 0).plusMinutes(id));
+        for (int i = 0; i < lineas; i++) {
+            Producto producto = catalogo.get(random.nextInt(catalogo.size()));
+            DetallePedido detalle = new DetallePedido(id * 1_000 + i, random.nextInt(1, 6),
+                    Dinero.aCentavos(producto.getPrecio()), producto);
+            pedido.agregarDetalle(detalle);
+        }
+        return pedido;
+    }
+
+}
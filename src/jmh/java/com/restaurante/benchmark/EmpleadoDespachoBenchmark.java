@@ -0,0 +1,101 @@
+package com.restaurante.benchmark;
+
+import com.restaurante.gestionEmpleados.service.EmpleadoService;
+import com.restaurante.gestionEmpleados.service.ManejadorRol;
+import com.restaurante.gestionPedidos.model.Pedido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Despacho por rol de EmpleadoService (mapa precalculado) frente a la cadena enlazada anterior
+ * (equalsIgnoreCase en cada eslabón), con cada vez más roles. El mapa debe quedar plano.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EmpleadoDespachoBenchmark {
+
+    // Manejador sin salida: se mide el despacho, no el log
+    private static final class ManejadorContador implements ManejadorRol {
+        private final String rol;
+        long manejados;
+
+        ManejadorContador(String rol) {
+            this.rol = rol;
+        }
+
+        @Override
+        public Set<String> roles() {
+            return Set.of(rol);
+        }
+
+        @Override
+        public void manejar(Pedido pedido, String rol) {
+            manejados++;
+        }
+    }
+
+    @Param({"3", "30", "300"})
+    int manejadores;
+
+    // PRIMERO/ULTIMO: posición en la cadena; MINUSCULAS: el último rol escrito como " rol_n "
+    @Param({"PRIMERO", "ULTIMO", "MINUSCULAS"})
+    String posicion;
+
+    private EmpleadoService service;
+    private List<ManejadorContador> cadena;
+    private Pedido pedido;
+    private String rol;
+
+    @Setup
+    public void preparar() {
+        cadena = new ArrayList<>(manejadores);
+        for (int i = 0; i < manejadores; i++) {
+            cadena.add(new ManejadorContador("ROL_" + i));
+        }
+        service = new EmpleadoService(null, List.copyOf(cadena), 1000);
+        pedido = DatosBenchmark.pedido(1L, 10, DatosBenchmark.productos(100));
+        rol = switch (posicion) {
+            case "PRIMERO" -> "ROL_0";
+            case "ULTIMO" -> "ROL_" + (manejadores - 1);
+            default -> " rol_" + (manejadores - 1) + " ";
+        };
+    }
+
+    @Benchmark
+    public void mapaDespacho() {
+        service.manejarPedidoPorRol(pedido, rol);
+    }
+
+    // Referencia: recorrido lineal como la cadena ManejadorCocinero -> ManejadorMesero -> ManejadorAdmin
+    @Benchmark
+    public void cadenaLineal() {
+        String buscado = rol.trim();
+        for (ManejadorContador m : cadena) {
+            if (m.rol.equalsIgnoreCase(buscado)) {
+                m.manejar(pedido, rol);
+                return;
+            }
+        }
+        throw new IllegalArgumentException(rol.toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.restaurante.benchmark;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.repository.PedidoRepository;
+import com.restaurante.gestionPedidos.service.MetricasPedidos;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la instrumentación en la ruta crítica (presupuesto en BENCHMARKS.md).
+ * Los timers usan la misma configuración de histograma que application.yml.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricasBenchmark {
+
+    private PrometheusMeterRegistry registry;
+    private Timer sinHistograma;
+    private Timer peticiones;
+    private Timer repositorios;
+    private MetricasPedidos metricasPedidos;
+
+    @Setup
+    public void preparar() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        sinHistograma = Timer.builder("benchmark.sin.histograma").register(registry);
+        peticiones = Timer.builder("http.server.requests")
+                .tags("uri", "/api/v1/pedidos/{idPedido}/pagar", "method", "POST", "status", "200")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        repositorios = Timer.builder("spring.data.repository.invocations")
+                .tags("repository", "PedidoRepository", "method", "findById", "state", "SUCCESS")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry);
+
+        PedidoRepository repo = (PedidoRepository) Proxy.newProxyInstance(
+                PedidoRepository.class.getClassLoader(), new Class<?>[]{PedidoRepository.class},
+                (proxy, metodo, args) -> List.of());
+        metricasPedidos = new MetricasPedidos(registry, repo);
+    }
+
+    // Referencia: tomar el tiempo sin registrar nada
+    @Benchmark
+    public long soloReloj() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void timerSinHistograma() {
+        sinHistograma.record(System.nanoTime() & 0xFFFFF, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void timerPeticion() {
+        peticiones.record(System.nanoTime() & 0xFFFFFF, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void timerRepositorio() {
+        repositorios.record(System.nanoTime() & 0xFFFFF, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void transicionPedido() {
+        metricasPedidos.transicion(Pedido.EstadoPedido.RECIBIDO, Pedido.EstadoPedido.COCINANDO, false);
+    }
+
+    // Scrape completo (fuera de la ruta crítica, pero acotado por el número de series)
+    @Benchmark
+    @Threads(1)
+    public String scrape() {
+        return registry.scrape();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.restaurante.benchmark;
+
+import com.restaurante.gestionPedidos.model.DetallePedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionProductos.model.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totales de pedido: lectura del total incremental, suma de los detalles y subtotales por línea.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PedidoBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    int lineas;
+
+    private Pedido pedido;
+    private List<Producto> catalogo;
+
+    @Setup
+    public void preparar() {
+        catalogo = DatosBenchmark.productos(10_000);
+        pedido = DatosBenchmark.pedido(1L, lineas, catalogo);
+    }
+
+    // Total mantenido de forma incremental (no recorre los detalles)
+    @Benchmark
+    public BigDecimal total() {
+        return pedido.getTotal();
+    }
+
+    // Referencia: sumar los detalles en cada lectura, lo que el total incremental evita
+    @Benchmark
+    public long sumarDetalles() {
+        long totalCentavos = 0;
+        for (DetallePedido d : pedido.getDetalles()) {
+            totalCentavos += d.getSubtotalCentavos();
+        }
+        return totalCentavos;
+    }
+
+    @Benchmark
+    public void subtotales(Blackhole bh) {
+        for (DetallePedido d : pedido.getDetalles()) {
+            bh.consume(d.getSubtotal());
+        }
+    }
+
+    // Construcción del pedido línea a línea (ruta de agregarProductos)
+    @Benchmark
+    public Pedido construirPedido() {
+        return DatosBenchmark.pedido(2L, lineas, catalogo);
+    }
+
+}
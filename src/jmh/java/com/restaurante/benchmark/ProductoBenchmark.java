@@ -0,0 +1,107 @@
+package com.restaurante.benchmark;
+
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.repository.ProductoRepository;
+import com.restaurante.gestionProductos.service.CatalogoCache;
+import com.restaurante.gestionProductos.service.ProductoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catálogo de productos: decoradores (descuento/extra), Builder del menú y lecturas de la caché.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ProductoBenchmark {
+
+    @Param({"100", "10000"})
+    int productos;
+
+    private List<Producto> catalogo;
+    private List<Long> idsPedido;
+    private Producto producto;
+    private ProductoService service;
+    private CatalogoCache cache;
+
+    @Setup
+    public void preparar() {
+        catalogo = DatosBenchmark.productos(productos);
+        producto = catalogo.get(catalogo.size() / 2);
+        idsPedido = catalogo.stream().limit(50).map(Producto::getId).toList();
+
+        // Repositorio en memoria: solo findAll() se usa al reconstruir la caché
+        ProductoRepository repo = (ProductoRepository) Proxy.newProxyInstance(
+                ProductoRepository.class.getClassLoader(), new Class<?>[]{ProductoRepository.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("findAll") && metodo.getParameterCount() == 0) {
+                        return catalogo;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+        cache = new CatalogoCache(repo);
+        service = new ProductoService(repo, cache);
+        cache.todos();
+    }
+
+    @Benchmark
+    public Producto aplicarDescuento() {
+        return service.aplicarDescuento(producto, 15.0);
+    }
+
+    @Benchmark
+    public Producto agregarExtra() {
+        return service.agregarExtra(producto, "Queso", new BigDecimal("2500.00"));
+    }
+
+    @Benchmark
+    public List<Producto> construirMenu() {
+        ProductoService.MenuBuilder builder = new ProductoService.MenuBuilder();
+        for (Producto p : catalogo) {
+            builder.agregarPlato(p);
+        }
+        return builder.construir();
+    }
+
+    @Benchmark
+    public Producto cachePorId() {
+        return cache.porId(producto.getId()).orElseThrow();
+    }
+
+    // Resolución de los productos de un pedido de 50 líneas
+    @Benchmark
+    public Map<Long, Producto> cachePorIds() {
+        return cache.porIds(idsPedido);
+    }
+
+    @Benchmark
+    public List<Producto> cachePorCategoria() {
+        return cache.porCategoria(DatosBenchmark.CATEGORIAS[2]);
+    }
+
+    // Costo de reconstruir el snapshot tras una escritura
+    @Benchmark
+    public List<Producto> reconstruirCache() {
+        cache.invalidar();
+        return cache.todos();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.restaurante.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.model.PedidoResumen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson del grafo Pedido -> DetallePedido -> Producto (respuestas de la API y exportación).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializacionBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    int lineas;
+
+    private ObjectMapper mapper;
+    private Pedido pedido;
+    private PedidoResumen resumen;
+    private byte[] json;
+
+    @Setup
+    public void preparar() throws JsonProcessingException {
+        // Misma configuración de fechas que el ObjectMapper de Spring Boot
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        pedido = DatosBenchmark.pedido(1L, lineas, DatosBenchmark.productos(10_000));
+        resumen = PedidoResumen.de(pedido);
+        json = mapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public byte[] serializarPedido() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public byte[] serializarResumen() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(resumen);
+    }
+
+    @Benchmark
+    public Object leerPedido() throws IOException {
+        return mapper.readTree(json);
+    }
+
+}
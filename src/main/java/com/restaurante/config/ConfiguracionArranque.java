@@ -0,0 +1,24 @@
+package com.restaurante.config;
+
+import com.restaurante.gestionCocina.controller.CocinaController;
+import com.restaurante.gestionPedidos.controller.PedidoController;
+import com.restaurante.gestionProductos.controller.ProductoController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans que se crean al arrancar aunque spring.main.lazy-initialization esté activo (perfil "rapido").
+ * Son los del servicio en sala: pedidos, catálogo y cocina (con sus dependencias). Diagnóstico,
+ * reportes, inventario y empleados se construyen con su primera petición.
+ */
+@Configuration
+public class ConfiguracionArranque {
+
+    @Bean
+    static LazyInitializationExcludeFilter beansCriticos() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                PedidoController.class, ProductoController.class, CocinaController.class);
+    }
+
+}
@@ -6,11 +6,16 @@ import com.restaurante.gestionInventario.model.InventarioItem;
 import com.restaurante.gestionInventario.repository.InventarioRepository;
 import com.restaurante.gestionProductos.model.Producto;
 import com.restaurante.gestionProductos.repository.ProductoRepository;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Bean;
+import com.restaurante.gestionProductos.service.CatalogoCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuración inicial con patrón Singleton integrado
@@ -45,15 +50,45 @@ public class ConfiguracionInicial {
         }
     }
 
-    @Bean
-    CommandLineRunner initData(ProductoRepository productoRepo,
-                               InventarioRepository inventarioRepo,
-                               EmpleadoRepository empleadoRepo) {
-        return args -> {
-            // Singleton Pattern - Mostrar configuración única del restaurante
-            GestorConfiguracion config = GestorConfiguracion.obtenerInstancia();
-            config.mostrarConfiguracion();
-            
+    private static final Logger log = LoggerFactory.getLogger(ConfiguracionInicial.class);
+
+    private final ProductoRepository productoRepo;
+    private final InventarioRepository inventarioRepo;
+    private final EmpleadoRepository empleadoRepo;
+    private final CatalogoCache catalogo;
+    private final boolean habilitado;
+
+    public ConfiguracionInicial(ProductoRepository productoRepo,
+                                InventarioRepository inventarioRepo,
+                                EmpleadoRepository empleadoRepo,
+                                CatalogoCache catalogo,
+                                @Value("${app.datos-iniciales.habilitado:true}") boolean habilitado) {
+        this.productoRepo = productoRepo;
+        this.inventarioRepo = inventarioRepo;
+        this.empleadoRepo = empleadoRepo;
+        this.catalogo = catalogo;
+        this.habilitado = habilitado;
+    }
+
+    // Datos de ejemplo fuera del camino de arranque: se cargan en segundo plano cuando la aplicación
+    // ya atiende peticiones, así los count() e inserciones no retrasan la apertura del puerto
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        // Singleton Pattern - Mostrar configuración única del restaurante
+        GestorConfiguracion config = GestorConfiguracion.obtenerInstancia();
+        config.mostrarConfiguracion();
+
+        if (!habilitado) {
+            return;
+        }
+        Thread hilo = new Thread(this::initData, "datos-iniciales");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    void initData() {
+        long inicio = System.nanoTime();
+        try {
             // Productos
             if (productoRepo.count() == 0) {
                 productoRepo.save(new Producto(null, "Capuchino", "BEBIDA_CALIENTE",
@@ -62,6 +97,7 @@ public class ConfiguracionInicial {
                         new BigDecimal("5000"), true));
                 productoRepo.save(new Producto(null, "Brownie de chocolate", "POSTRE",
                         new BigDecimal("6000"), true));
+                catalogo.invalidar();
             }
 
             // Inventario
@@ -77,7 +113,13 @@ public class ConfiguracionInicial {
                 empleadoRepo.save(new Empleado(null, "Carlos Mesero", "MESERO",
                         new BigDecimal("1500000")));
             }
-        };
+            // Calentar el catálogo en caché: la primera petición de productos no lo construye
+            catalogo.todos();
+            log.info("Datos iniciales verificados en {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        } catch (RuntimeException e) {
+            // La aplicación sigue en servicio: solo faltan los datos de ejemplo
+            log.warn("No se pudieron cargar los datos iniciales: {}", e.getMessage());
+        }
     }
 
 }
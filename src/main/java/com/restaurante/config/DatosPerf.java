@@ -0,0 +1,99 @@
+package com.restaurante.config;
+
+import com.restaurante.gestionEmpleados.model.Empleado;
+import com.restaurante.gestionEmpleados.repository.EmpleadoRepository;
+import com.restaurante.gestionInventario.model.InventarioItem;
+import com.restaurante.gestionInventario.model.RecetaItem;
+import com.restaurante.gestionInventario.repository.InventarioRepository;
+import com.restaurante.gestionInventario.repository.RecetaRepository;
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.repository.ProductoRepository;
+import com.restaurante.gestionProductos.service.CatalogoCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos del perfil "perf": catálogo, inventario y personal de un día de servicio realista.
+ * Se generan con semilla fija para que dos corridas de carga sean comparables.
+ */
+@Configuration
+@Profile("perf")
+public class DatosPerf {
+
+    private static final Logger log = LoggerFactory.getLogger(DatosPerf.class);
+
+    private static final String[] CATEGORIAS = {
+            "BEBIDA_CALIENTE", "BEBIDA_FRIA", "PLATO_CALIENTE", "PLATO_FRIO", "POSTRE"
+    };
+    private static final int RECETA_INSUMOS = 20;
+    private static final String[] ROLES = {"MESERO", "MESERO", "MESERO", "COCINERO", "BARISTA", "ADMIN"};
+
+    @Bean
+    CommandLineRunner cargarDatosPerf(ProductoRepository productoRepo,
+                                      InventarioRepository inventarioRepo,
+                                      RecetaRepository recetaRepo,
+                                      EmpleadoRepository empleadoRepo,
+                                      CatalogoCache catalogo,
+                                      @Value("${app.perf.productos:500}") int productos,
+                                      @Value("${app.perf.inventario:200}") int inventario,
+                                      @Value("${app.perf.empleados:30}") int empleados) {
+        return args -> {
+            SplittableRandom random = new SplittableRandom(42);
+
+            List<Producto> nuevosProductos = new ArrayList<>(productos);
+            for (int i = 1; i <= productos; i++) {
+                nuevosProductos.add(new Producto(null, "Producto perf " + i, CATEGORIAS[i % CATEGORIAS.length],
+                        BigDecimal.valueOf(random.nextInt(20, 400) * 100L), random.nextInt(20) != 0));
+            }
+            productoRepo.saveAll(nuevosProductos);
+            catalogo.invalidar();
+
+            List<InventarioItem> items = new ArrayList<>(inventario);
+            for (int i = 1; i <= inventario; i++) {
+                int minimo = random.nextInt(5, 30);
+                items.add(new InventarioItem(null, "Insumo perf " + i, "unidades",
+                        random.nextInt(0, minimo * 10), minimo));
+            }
+            inventarioRepo.saveAll(items);
+
+            // Recetas: cada producto consume 1-3 insumos dedicados con stock holgado, para que el
+            // descuento al enviar a cocina se ejercite sin agotar el inventario durante la prueba
+            List<InventarioItem> insumosReceta = new ArrayList<>(RECETA_INSUMOS);
+            for (int i = 1; i <= RECETA_INSUMOS; i++) {
+                insumosReceta.add(new InventarioItem(null, "Insumo receta " + i, "unidades", 1_000_000_000, 1_000));
+            }
+            inventarioRepo.saveAll(insumosReceta);
+            List<RecetaItem> recetas = new ArrayList<>();
+            for (Producto producto : nuevosProductos) {
+                int primero = random.nextInt(RECETA_INSUMOS);
+                int cantidadInsumos = random.nextInt(1, 4);
+                for (int j = 0; j < cantidadInsumos; j++) {
+                    InventarioItem insumo = insumosReceta.get((primero + j) % RECETA_INSUMOS);
+                    recetas.add(new RecetaItem(producto, insumo, random.nextInt(1, 5)));
+                }
+            }
+            recetaRepo.saveAll(recetas);
+
+            List<Empleado> personal = new ArrayList<>(empleados);
+            for (int i = 1; i <= empleados; i++) {
+                String rol = ROLES[i % ROLES.length];
+                personal.add(new Empleado(null, "Empleado perf " + i, rol, new BigDecimal("1500000")));
+            }
+            empleadoRepo.saveAll(personal);
+
+            log.info("Datos de carga: {} productos, {} insumos, {} recetas, {} empleados",
+                    productos, inventario + RECETA_INSUMOS, recetas.size(), empleados);
+        };
+    }
+
+}
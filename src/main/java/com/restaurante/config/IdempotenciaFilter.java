@@ -0,0 +1,269 @@
+package com.restaurante.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claves de idempotencia para los POST de pedidos.
+ * Si el cliente reintenta con el mismo Idempotency-Key, se devuelve la respuesta guardada
+ * en lugar de volver a ejecutar la operación (no se duplican pedidos, líneas ni transiciones).
+ * Solo se guardan los resultados definitivos: 2xx y errores 4xx que se repetirían igual. Los
+ * conflictos transitorios (409 por concurrencia o stock, 429, 5xx) se vuelven a ejecutar al reintentar.
+ */
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaFilter.class);
+
+    static final String CABECERA = "Idempotency-Key";
+    static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
+    private static final int LONGITUD_MAXIMA_CLAVE = 255;
+
+    // Respuesta guardada para repetirla tal cual
+    private record Respuesta(int estado, String contentType, byte[] cuerpo) {
+    }
+
+    // huella: SHA-256 del cuerpo; la misma clave con otro cuerpo es un error del cliente
+    private record Entrada(byte[] huella, CompletableFuture<Respuesta> respuesta, long expiraEn) {
+        boolean expirada(long ahora) {
+            return ahora >= expiraEn && respuesta.isDone();
+        }
+    }
+
+    private final String prefijo;
+    private final int maxClaves;
+    private final long ttlNanos;
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    // Orden de llegada de las claves para expulsar las más antiguas
+    private final ConcurrentLinkedQueue<String> orden = new ConcurrentLinkedQueue<>();
+
+    public IdempotenciaFilter(@Value("${app.api-prefix:/api/v1}") String apiPrefix,
+                              @Value("${app.idempotencia.max-claves:10000}") int maxClaves,
+                              @Value("${app.idempotencia.ttl-segundos:600}") long ttlSegundos) {
+        this.prefijo = apiPrefix + "/pedidos";
+        this.maxClaves = maxClaves;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(CABECERA) == null
+                || !request.getRequestURI().startsWith(prefijo);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(CABECERA);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > LONGITUD_MAXIMA_CLAVE) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key inválido");
+            return;
+        }
+        // La clave se asocia a la operación: la misma clave en otra ruta es otra petición
+        String clave = request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "")
+                + "|" + idempotencyKey;
+
+        // El cuerpo se lee una vez para la huella y se entrega de nuevo al controlador
+        CuerpoLeido peticion = new CuerpoLeido(request);
+        byte[] huella = huella(peticion.cuerpo);
+
+        long ahora = System.nanoTime();
+        purgar(ahora);
+
+        Entrada nueva = new Entrada(huella, new CompletableFuture<>(), ahora + ttlNanos);
+        Entrada existente = entradas.putIfAbsent(clave, nueva);
+        if (existente != null && existente.expirada(ahora) && entradas.replace(clave, existente, nueva)) {
+            existente = null;
+        }
+        if (existente != null) {
+            repetir(existente, huella, response);
+            return;
+        }
+        orden.add(clave);
+
+        ContentCachingResponseWrapper envoltura = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(peticion, envoltura);
+        } catch (ServletException | IOException | RuntimeException e) {
+            // Sin respuesta que guardar: el siguiente reintento vuelve a ejecutar la operación
+            entradas.remove(clave, nueva);
+            nueva.respuesta().completeExceptionally(e);
+            throw e;
+        }
+
+        int estado = envoltura.getStatus();
+        if (definitiva(estado)) {
+            nueva.respuesta().complete(new Respuesta(estado, envoltura.getContentType(),
+                    envoltura.getContentAsByteArray()));
+        } else {
+            // Resultado transitorio: no se fija a la clave, el reintento vuelve a ejecutar
+            entradas.remove(clave, nueva);
+            nueva.respuesta().completeExceptionally(new IllegalStateException("Respuesta " + estado));
+        }
+        envoltura.copyBodyToResponse();
+    }
+
+    // 2xx y 4xx deterministas; 408, 409, 425 y 429 dependen del momento en que se ejecutó
+    static boolean definitiva(int estado) {
+        if (estado >= 200 && estado < 300) {
+            return true;
+        }
+        return estado >= 400 && estado < 500
+                && estado != 408 && estado != 409 && estado != 425 && estado != 429;
+    }
+
+    // Petición repetida: devolver la respuesta guardada; sin esperar si la original sigue en curso
+    private void repetir(Entrada entrada, byte[] huella, HttpServletResponse response) throws IOException {
+        if (!MessageDigest.isEqual(entrada.huella(), huella)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    "Idempotency-Key ya usado con otro cuerpo de petición");
+            return;
+        }
+        if (!entrada.respuesta().isDone()) {
+            response.sendError(HttpStatus.CONFLICT.value(), "La petición original sigue en curso");
+            return;
+        }
+        if (entrada.respuesta().isCompletedExceptionally()) {
+            response.sendError(HttpStatus.CONFLICT.value(), "La petición original falló, reintente");
+            return;
+        }
+        Respuesta guardada = entrada.respuesta().join();
+        response.setStatus(guardada.estado());
+        if (guardada.contentType() != null) {
+            response.setContentType(guardada.contentType());
+        }
+        response.setHeader(CABECERA_REPETIDA, "true");
+        response.setContentLength(guardada.cuerpo().length);
+        response.getOutputStream().write(guardada.cuerpo());
+    }
+
+    private static byte[] huella(byte[] cuerpo) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(cuerpo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // Quitar claves expiradas y, si se supera el máximo, las más antiguas
+    private void purgar(long ahora) {
+        String clave;
+        while ((clave = orden.peek()) != null) {
+            Entrada e = entradas.get(clave);
+            boolean sobrante = entradas.size() > maxClaves;
+            if (e != null && !e.expirada(ahora) && !sobrante) {
+                return;
+            }
+            clave = orden.poll();
+            if (clave == null) {
+                return;
+            }
+            e = entradas.get(clave);
+            if (e != null && (sobrante || e.expirada(ahora)) && entradas.remove(clave, e) && sobrante) {
+                log.debug("Idempotency-Key expulsada por capacidad: {}", clave);
+            }
+        }
+    }
+
+    // Petición con el cuerpo ya leído en memoria (los POST de pedidos son pequeños)
+    private static final class CuerpoLeido extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+
+        CuerpoLeido(HttpServletRequest request) throws IOException {
+            super(request);
+            this.cuerpo = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Lectura no bloqueante: todo el cuerpo ya está en memoria, así que está disponible
+                // de inmediato y no llegarán más datos
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return cuerpo.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.restaurante.config.bulkhead;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 503 + Retry-After para cualquier controlador cuando el bulkhead rechaza la petición.
+ */
+@RestControllerAdvice
+public class BulkheadAdvice {
+
+    private final long retryAfterSegundos;
+
+    public BulkheadAdvice(@Value("${app.bulkhead.retry-after-segundos:1}") long retryAfterSegundos) {
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    @ExceptionHandler(BulkheadLlenoException.class)
+    public ResponseEntity<String> sinCapacidad(BulkheadLlenoException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos))
+                .body(e.getMessage());
+    }
+
+}
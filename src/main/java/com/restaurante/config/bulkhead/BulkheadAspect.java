@@ -0,0 +1,44 @@
+package com.restaurante.config.bulkhead;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+
+/**
+ * Pone el bulkhead delante de la capa de datos: repositorios Spring Data y métodos @Transactional
+ * de los servicios (la transacción retiene la conexión entre una llamada al repositorio y la siguiente).
+ * Las transacciones programáticas (TransactionTemplate) no pasan por aquí: toman el permiso con
+ * BulkheadBaseDatos.ejecutar alrededor de la transacción completa.
+ */
+@Aspect
+public class BulkheadAspect implements Ordered {
+
+    private final BulkheadBaseDatos bulkhead;
+
+    public BulkheadAspect(BulkheadBaseDatos bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)"
+            + " || (@annotation(org.springframework.transaction.annotation.Transactional)"
+            + " && within(com.restaurante..service..*))")
+    public Object limitar(ProceedingJoinPoint punto) throws Throwable {
+        if (!BulkheadBaseDatos.enPeticionWeb()) {
+            return punto.proceed();
+        }
+        bulkhead.entrar();
+        try {
+            return punto.proceed();
+        } finally {
+            bulkhead.salir();
+        }
+    }
+
+    // Dentro del enrutamiento a réplica y antes de abrir la transacción
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+}
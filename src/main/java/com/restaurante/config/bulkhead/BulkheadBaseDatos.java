@@ -0,0 +1,133 @@
+package com.restaurante.config.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead de base de datos: como mucho tantas peticiones trabajando con la base como conexiones
+ * tiene el pool, y una cola de espera acotada. Con hilos virtuales las peticiones no están limitadas
+ * por el pool de Tomcat, así que sin este límite miles de ellas esperarían una conexión de Hikari.
+ * Es reentrante por hilo: un servicio transaccional y los repositorios que llama usan un solo permiso.
+ * Solo aplica a hilos de petición web: los procesos en segundo plano ya tienen sus propios límites
+ * y un rechazo ahí perdería trabajo (historial, rollups, cocina).
+ */
+public class BulkheadBaseDatos {
+
+    private final Semaphore permisos;
+    private final int totalPermisos;
+    private final int maxEnEspera;
+    private final long esperaMaximaNanos;
+
+    private final AtomicInteger enEspera = new AtomicInteger();
+    // Profundidad de anidamiento del hilo actual (0 = sin permiso)
+    private final ThreadLocal<int[]> profundidad = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final Counter rechazosColaLlena;
+    private final Counter rechazosTiempoAgotado;
+    private final Timer espera;
+
+    public BulkheadBaseDatos(int totalPermisos, int maxEnEspera, long esperaMaximaMs, MeterRegistry registry) {
+        if (totalPermisos < 1) {
+            throw new IllegalArgumentException("El bulkhead necesita al menos un permiso");
+        }
+        this.permisos = new Semaphore(totalPermisos, true);
+        this.totalPermisos = totalPermisos;
+        this.maxEnEspera = maxEnEspera;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+
+        Gauge.builder("db.bulkhead.en.uso", this, b -> b.totalPermisos - b.permisos.availablePermits())
+                .description("Peticiones trabajando con la base de datos")
+                .register(registry);
+        Gauge.builder("db.bulkhead.en.espera", enEspera, AtomicInteger::get)
+                .description("Peticiones esperando un permiso del bulkhead")
+                .register(registry);
+        Gauge.builder("db.bulkhead.permisos", this, b -> b.totalPermisos)
+                .description("Permisos del bulkhead (tamaño del pool de conexiones)")
+                .register(registry);
+        this.rechazosColaLlena = Counter.builder("db.bulkhead.rechazos")
+                .description("Peticiones rechazadas con 503 por el bulkhead")
+                .tag("motivo", "cola_llena")
+                .register(registry);
+        this.rechazosTiempoAgotado = Counter.builder("db.bulkhead.rechazos")
+                .description("Peticiones rechazadas con 503 por el bulkhead")
+                .tag("motivo", "tiempo_agotado")
+                .register(registry);
+        this.espera = Timer.builder("db.bulkhead.espera")
+                .description("Tiempo de espera hasta obtener un permiso")
+                .register(registry);
+    }
+
+    // Sección de base de datos que el aspecto no intercepta (transacción programática con
+    // TransactionTemplate): el permiso cubre toda la transacción, no cada llamada al repositorio
+    public <T> T ejecutar(Supplier<T> seccion) {
+        if (!enPeticionWeb()) {
+            return seccion.get();
+        }
+        entrar();
+        try {
+            return seccion.get();
+        } finally {
+            salir();
+        }
+    }
+
+    static boolean enPeticionWeb() {
+        return RequestContextHolder.getRequestAttributes() != null;
+    }
+
+    // Entrar a la sección de base de datos; lanza BulkheadLlenoException si no hay lugar
+    void entrar() {
+        int[] nivel = profundidad.get();
+        if (nivel[0] > 0) {
+            nivel[0]++;
+            return;
+        }
+        if (!permisos.tryAcquire()) {
+            esperar();
+        }
+        nivel[0] = 1;
+    }
+
+    void salir() {
+        int[] nivel = profundidad.get();
+        if (--nivel[0] == 0) {
+            profundidad.remove();
+            permisos.release();
+        }
+    }
+
+    private void esperar() {
+        // Cola llena: se rechaza de inmediato en lugar de acumular hilos bloqueados
+        if (enEspera.incrementAndGet() > maxEnEspera) {
+            enEspera.decrementAndGet();
+            profundidad.remove();
+            rechazosColaLlena.increment();
+            throw new BulkheadLlenoException("Cola del bulkhead de base de datos llena");
+        }
+        long inicio = System.nanoTime();
+        boolean obtenido;
+        try {
+            obtenido = permisos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            obtenido = false;
+        } finally {
+            enEspera.decrementAndGet();
+        }
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (!obtenido) {
+            profundidad.remove();
+            rechazosTiempoAgotado.increment();
+            throw new BulkheadLlenoException("Sin permiso del bulkhead de base de datos tras la espera máxima");
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.restaurante.config.bulkhead;
+
+/**
+ * La base de datos está a capacidad: la petición se rechaza con 503 y Retry-After.
+ */
+public class BulkheadLlenoException extends RuntimeException {
+
+    public BulkheadLlenoException(String mensaje) {
+        super(mensaje);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.restaurante.config.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulkhead de base de datos (app.bulkhead.habilitado, apagado por defecto; pensado para usarse
+ * con spring.threads.virtual.enabled). Los permisos se dimensionan con el pool de conexiones.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.bulkhead.habilitado", havingValue = "true")
+public class ConfiguracionBulkhead {
+
+    @Bean
+    BulkheadBaseDatos bulkheadBaseDatos(MeterRegistry registry,
+                                        @Value("${app.bulkhead.permisos:${spring.datasource.hikari.maximum-pool-size:10}}") int permisos,
+                                        @Value("${app.bulkhead.max-en-espera:200}") int maxEnEspera,
+                                        @Value("${app.bulkhead.espera-maxima-ms:500}") long esperaMaximaMs) {
+        return new BulkheadBaseDatos(permisos, maxEnEspera, esperaMaximaMs, registry);
+    }
+
+    @Bean
+    BulkheadAspect bulkheadAspect(BulkheadBaseDatos bulkhead) {
+        return new BulkheadAspect(bulkhead);
+    }
+
+    // Con open-in-view la sesión retiene su conexión hasta el final de la petición, fuera del
+    // bulkhead; liberándola al terminar cada transacción, conexiones en uso y permisos coinciden
+    @Bean
+    HibernatePropertiesCustomizer liberarConexionConBulkhead() {
+        return propiedades -> propiedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.restaurante.config.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de segundo nivel de Hibernate (app.cache.habilitada): JCache con Caffeine en proceso.
+ * Las regiones se crean aquí con el tamaño y TTL de app.cache.regiones; las entidades las eligen con
+ * @Cache(region = ...) y las consultas con la pista org.hibernate.cacheRegion.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.habilitada", havingValue = "true", matchIfMissing = true)
+public class ConfiguracionCacheHibernate {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfiguracionCacheHibernate.class);
+
+    // Marcas de última escritura por tabla: invalidan la caché de consultas, no deben expirar
+    private static final String REGION_MARCAS = "default-update-timestamps-region";
+    private static final String REGION_CONSULTAS = "default-query-results-region";
+
+    public record Region(long maxEntradas, long ttlSegundos) {
+    }
+
+    @Bean(destroyMethod = "close")
+    CacheManager cacheManagerHibernate(Environment env) {
+        Map<String, Region> regiones = Binder.get(env)
+                .bind("app.cache.regiones", Bindable.mapOf(String.class, Region.class))
+                .orElse(Map.of());
+
+        CachingProvider proveedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager manager = proveedor.getCacheManager(proveedor.getDefaultURI(), getClass().getClassLoader());
+        regiones.forEach((nombre, region) -> {
+            manager.createCache(nombre, configuracion(region));
+            log.info("Región de caché {}: máximo {} entradas, TTL {} s", nombre, region.maxEntradas(), region.ttlSegundos());
+        });
+        manager.createCache(REGION_MARCAS, configuracion(new Region(0, 0)));
+        if (!regiones.containsKey(REGION_CONSULTAS)) {
+            manager.createCache(REGION_CONSULTAS, configuracion(new Region(1000, 300)));
+        }
+        return manager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManagerHibernate,
+                                                    @Value("${app.cache.estadisticas:false}") boolean estadisticas) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            propiedades.put(AvailableSettings.USE_QUERY_CACHE, true);
+            propiedades.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            propiedades.put("hibernate.javax.cache.cache_manager", cacheManagerHibernate);
+            // Una región usada sin configurar se crea sin límites y queda en el log
+            propiedades.put("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+            // Aciertos y fallos por región (GET /api/v1/diagnostico/cache)
+            propiedades.put(AvailableSettings.GENERATE_STATISTICS, estadisticas);
+        };
+    }
+
+    // 0 = sin límite de entradas / sin expiración
+    private static CaffeineConfiguration<Object, Object> configuracion(Region region) {
+        CaffeineConfiguration<Object, Object> c = new CaffeineConfiguration<>();
+        c.setStoreByValue(false);
+        if (region.maxEntradas() > 0) {
+            c.setMaximumSize(OptionalLong.of(region.maxEntradas()));
+        }
+        if (region.ttlSegundos() > 0) {
+            c.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(region.ttlSegundos())));
+        }
+        return c;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.restaurante.config.cache;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché de segundo nivel apagada (app.cache.habilitada=false). No basta con omitir
+ * ConfiguracionCacheHibernate: con hibernate-jcache en el classpath y entidades con @Cache,
+ * Hibernate elige la fábrica de regiones JCache por su cuenta y crea las regiones al vuelo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.habilitada", havingValue = "false")
+public class ConfiguracionSinCacheHibernate {
+
+    @Bean
+    HibernatePropertiesCustomizer sinCacheSegundoNivel() {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            propiedades.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.restaurante.config.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalidación de la caché de segundo nivel para escrituras que no pasan por Hibernate
+ * (UPDATE por JDBC): Hibernate no se entera y seguiría sirviendo el estado anterior.
+ */
+@Component
+public class InvalidacionCache {
+
+    private final EntityManagerFactory emf;
+
+    public InvalidacionCache(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    // Se expulsa al terminar la transacción (confirmada o no): antes, otra lectura podría
+    // volver a cachear el valor viejo desde la base
+    public void expulsarAlTerminar(Class<?> entidad, Collection<?> ids) {
+        List<?> copia = List.copyOf(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            expulsar(entidad, copia);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                expulsar(entidad, copia);
+            }
+        });
+    }
+
+    private void expulsar(Class<?> entidad, Collection<?> ids) {
+        ids.forEach(id -> emf.getCache().evict(entidad, id));
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.restaurante.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Réplica de lectura (app.replica.habilitada=true).
+ * Los métodos @Transactional(readOnly = true) de los servicios leen de la réplica mientras su
+ * retraso esté por debajo de app.replica.retraso-maximo-ms; el resto, y cualquier lectura cuando
+ * la réplica se atrasa o cae, usa la primaria (spring.datasource.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.replica.habilitada", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ConfiguracionReplica {
+
+    @Bean
+    LecturaReplicaAspect lecturaReplicaAspect(ObjectProvider<EntityManagerFactory> emf) {
+        return new LecturaReplicaAspect(emf);
+    }
+
+    // Los dos pools se crean aquí (no como beans) para que el health check de la aplicación
+    // dependa de la primaria: una réplica caída solo desvía lecturas
+    @Bean
+    EnrutadorDataSource enrutadorDataSource(DataSourceProperties propiedades, Environment env,
+                                            MeterRegistry registry,
+                                            @Value("${app.replica.url}") String url,
+                                            @Value("${app.replica.username}") String usuario,
+                                            @Value("${app.replica.password:}") String clave,
+                                            @Value("${app.replica.retraso-maximo-ms:5000}") long retrasoMaximoMs,
+                                            @Value("${app.replica.intervalo-latido-ms:1000}") long intervaloMs) {
+        Binder binder = Binder.get(env);
+
+        HikariDataSource primaria = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        if (primaria.getPoolName() == null) {
+            primaria.setPoolName("primaria");
+        }
+
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(usuario).password(clave).build();
+        // La aplicación arranca aunque la réplica no responda: las lecturas van a la primaria
+        replica.setInitializationFailTimeout(-1);
+        replica.setPoolName("replica");
+        binder.bind("app.replica.hikari", Bindable.ofInstance(replica));
+
+        // Métricas hikaricp.* de cada pool (tag pool=primaria|replica)
+        primaria.setMetricRegistry(registry);
+        replica.setMetricRegistry(registry);
+
+        MonitorReplica monitor = new MonitorReplica(primaria, replica, retrasoMaximoMs, intervaloMs, registry);
+        Counter desvios = Counter.builder("db.replica.desvios")
+                .description("Lecturas readOnly resueltas en la primaria por retraso o caída de la réplica")
+                .register(registry);
+        return new EnrutadorDataSource(primaria, replica, monitor, desvios);
+    }
+
+    @Bean(initMethod = "iniciar", destroyMethod = "detener")
+    MonitorReplica monitorReplica(EnrutadorDataSource enrutador) {
+        return enrutador.monitor();
+    }
+
+    // La conexión se pide en la primera sentencia, cuando LecturaReplicaAspect ya marcó la transacción
+    @Bean
+    @Primary
+    DataSource dataSource(EnrutadorDataSource enrutador) {
+        return new LazyConnectionDataSourceProxy(enrutador);
+    }
+
+    // Con open-in-view la sesión dura toda la petición: sin liberar la conexión al terminar cada
+    // transacción, una escritura posterior a una lectura reutilizaría la conexión de la réplica
+    @Bean
+    HibernatePropertiesCustomizer liberarConexionPorTransaccion() {
+        return propiedades -> propiedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.restaurante.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource de lectura/escritura: las transacciones marcadas por LecturaReplicaAspect toman la
+ * conexión del pool de la réplica si MonitorReplica la da por buena; todo lo demás va a la primaria.
+ * Se usa detrás de un LazyConnectionDataSourceProxy para que la conexión se pida en la primera
+ * sentencia (con la marca ya puesta) y no al comenzar la transacción.
+ */
+public class EnrutadorDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final HikariDataSource primaria;
+    private final HikariDataSource replica;
+    private final MonitorReplica monitor;
+    // Lecturas que podían ir a la réplica y se resolvieron en la primaria
+    private final Counter desvios;
+
+    // Pedir una conexión a uno de los dos pools (con o sin credenciales explícitas)
+    @FunctionalInterface
+    private interface Apertura {
+        Connection abrir(DataSource pool) throws SQLException;
+    }
+
+    public EnrutadorDataSource(HikariDataSource primaria, HikariDataSource replica,
+                               MonitorReplica monitor, Counter desvios) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.desvios = desvios;
+    }
+
+    public HikariDataSource primaria() {
+        return primaria;
+    }
+
+    public HikariDataSource replica() {
+        return replica;
+    }
+
+    public MonitorReplica monitor() {
+        return monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return enrutar(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return enrutar(pool -> pool.getConnection(username, password));
+    }
+
+    private Connection enrutar(Apertura apertura) throws SQLException {
+        if (!LecturaReplicaAspect.activa()) {
+            return apertura.abrir(primaria);
+        }
+        if (monitor.usarReplica()) {
+            try {
+                return apertura.abrir(replica);
+            } catch (SQLException | RuntimeException e) {
+                // Incluye el fallo al arrancar el pool (PoolInitializationException)
+                monitor.marcarCaida(e);
+            }
+        }
+        desvios.increment();
+        return apertura.abrir(primaria);
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primaria.close();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.restaurante.config.replica;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de latido usada por MonitorReplica (se escribe y lee por JDBC).
+ * Mapeada para que los perfiles con ddl-auto generen la tabla.
+ */
+@Entity
+@Table(name = "replica_latido")
+public class LatidoReplica {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDateTime instante;
+
+    protected LatidoReplica() {}
+
+    public Integer getId() {
+        return id;
+    }
+
+    public LocalDateTime getInstante() {
+        return instante;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.restaurante.config.replica;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Marca como "lectura de réplica" los métodos @Transactional(readOnly = true) de los servicios.
+ * Se ejecuta antes que el interceptor de transacciones, así la conexión (perezosa) ya sabe a qué
+ * pool ir cuando Hibernate la pide. Solo marca la transacción más externa: un método de lectura
+ * llamado dentro de una escritura sigue en la primaria y ve lo que esa escritura acaba de hacer.
+ * No se usa isCurrentTransactionReadOnly porque los repositorios Spring Data abren transacciones
+ * readOnly por defecto, también dentro de escrituras y de la reconstrucción de cachés.
+ * Mientras dura la marca la sesión (la de open-in-view o una propia) lee la caché de segundo nivel
+ * pero no la alimenta: una fila leída de una réplica atrasada seguiría en la caché después de ponerse al día.
+ */
+@Aspect
+public class LecturaReplicaAspect implements Ordered {
+
+    private static final ThreadLocal<Boolean> EN_REPLICA = new ThreadLocal<>();
+
+    private final ObjectProvider<EntityManagerFactory> emf;
+
+    public LecturaReplicaAspect(ObjectProvider<EntityManagerFactory> emf) {
+        this.emf = emf;
+    }
+
+    static boolean activa() {
+        return EN_REPLICA.get() != null;
+    }
+
+    @Around("@annotation(transaccion) && within(com.restaurante..service..*)")
+    public Object enrutar(ProceedingJoinPoint punto, Transactional transaccion) throws Throwable {
+        if (!transaccion.readOnly() || activa()
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return punto.proceed();
+        }
+        EN_REPLICA.set(Boolean.TRUE);
+        EntityManagerFactory fabrica = emf.getIfAvailable();
+        // Sin sesión de la petición (hilos de fondo, pruebas) se abre una para toda la lectura, como
+        // haría open-in-view, para poder ajustar su modo de caché antes de que empiece la transacción
+        EntityManager propio = null;
+        if (fabrica != null && !TransactionSynchronizationManager.hasResource(fabrica)) {
+            propio = fabrica.createEntityManager();
+            TransactionSynchronizationManager.bindResource(fabrica, new EntityManagerHolder(propio));
+        }
+        Session sesion = fabrica != null ? sesionAbierta(fabrica) : null;
+        CacheMode anterior = sesion != null ? sesion.getCacheMode() : null;
+        if (sesion != null) {
+            sesion.setCacheMode(CacheMode.GET);
+        }
+        try {
+            return punto.proceed();
+        } finally {
+            if (propio != null) {
+                TransactionSynchronizationManager.unbindResource(fabrica);
+                propio.close();
+            } else if (sesion != null) {
+                sesion.setCacheMode(anterior);
+            }
+            EN_REPLICA.remove();
+        }
+    }
+
+    private static Session sesionAbierta(EntityManagerFactory fabrica) {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(fabrica);
+        return holder != null ? holder.getEntityManager().unwrap(Session.class) : null;
+    }
+
+    // Después de ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1), que expone la invocación
+    // necesaria para enlazar el argumento de @annotation; antes que el bulkhead y la transacción
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+}
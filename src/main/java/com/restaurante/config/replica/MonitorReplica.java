@@ -0,0 +1,121 @@
+package com.restaurante.config.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el retraso de la réplica con un latido: cada intervalo escribe la hora actual en
+ * replica_latido de la primaria y lee la fila replicada en la réplica. Mientras el retraso supere
+ * el máximo (o la réplica no responda) las lecturas vuelven a la primaria.
+ */
+public class MonitorReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    private static final int ID_LATIDO = 1;
+
+    private final JdbcTemplate primaria;
+    private final JdbcTemplate replica;
+    private final long retrasoMaximoMs;
+    private final long intervaloMs;
+
+    private final ScheduledExecutorService planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-latido");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Hasta la primera medición la réplica no se usa
+    private volatile boolean disponible;
+    private volatile long retrasoMs = -1;
+
+    public MonitorReplica(DataSource primaria, DataSource replica, long retrasoMaximoMs, long intervaloMs,
+                          MeterRegistry registry) {
+        this.primaria = new JdbcTemplate(primaria);
+        this.replica = new JdbcTemplate(replica);
+        this.retrasoMaximoMs = retrasoMaximoMs;
+        this.intervaloMs = intervaloMs;
+
+        Gauge.builder("db.replica.retraso", this, m -> m.retrasoMs < 0 ? Double.NaN : m.retrasoMs / 1000.0)
+                .description("Retraso de la réplica medido con el último latido")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("db.replica.disponible", this, m -> m.usarReplica() ? 1 : 0)
+                .description("1 si las lecturas readOnly se envían a la réplica")
+                .register(registry);
+    }
+
+    public void iniciar() {
+        planificador.scheduleWithFixedDelay(this::verificar, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void detener() {
+        planificador.shutdownNow();
+    }
+
+    public boolean usarReplica() {
+        return disponible;
+    }
+
+    // Fallo al pedir una conexión a la réplica: no se vuelve a intentar hasta el próximo latido
+    void marcarCaida(Exception e) {
+        if (disponible) {
+            log.warn("Réplica sin conexión, lecturas a la primaria: {}", e.getMessage());
+        }
+        disponible = false;
+    }
+
+    void verificar() {
+        Instant ahora = Instant.now();
+        escribirLatido(ahora);
+        try {
+            Timestamp replicado = replica.query("SELECT instante FROM replica_latido WHERE id = ?",
+                    rs -> rs.next() ? rs.getTimestamp(1) : null, ID_LATIDO);
+            if (replicado == null) {
+                // La réplica aún no recibió el primer latido
+                actualizar(false, -1);
+                return;
+            }
+            long retraso = Math.max(0, ahora.toEpochMilli() - replicado.getTime());
+            actualizar(retraso <= retrasoMaximoMs, retraso);
+        } catch (RuntimeException e) {
+            // Cualquier fallo detendría el latido programado: se trata como réplica caída
+            log.debug("No se pudo leer el latido de la réplica", e);
+            actualizar(false, -1);
+        }
+    }
+
+    private void escribirLatido(Instant ahora) {
+        try {
+            Timestamp instante = Timestamp.from(ahora);
+            if (primaria.update("UPDATE replica_latido SET instante = ? WHERE id = ?", instante, ID_LATIDO) == 0) {
+                primaria.update("INSERT INTO replica_latido (id, instante) VALUES (?, ?)", ID_LATIDO, instante);
+            }
+        } catch (RuntimeException e) {
+            log.debug("No se pudo escribir el latido en la primaria", e);
+        }
+    }
+
+    private void actualizar(boolean dentroDelMaximo, long retraso) {
+        boolean antes = disponible;
+        retrasoMs = retraso;
+        disponible = dentroDelMaximo;
+        if (antes && !dentroDelMaximo) {
+            log.warn("Réplica fuera de servicio (retraso {} ms, máximo {} ms): lecturas a la primaria",
+                    retraso, retrasoMaximoMs);
+        } else if (!antes && dentroDelMaximo) {
+            log.info("Réplica al día (retraso {} ms): lecturas readOnly a la réplica", retraso);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.restaurante.config.sse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observer Pattern - Conexión SSE con su cola de envío acotada. Quien difunde solo encola; la cola la
+ * vacía el grupo de hilos de envío del GrupoConexionesSse, con como mucho un envío en curso por
+ * conexión, así los eventos salen en el orden en que se encolaron. Un cliente que no vacía su cola a
+ * tiempo se desconecta (al reconectar se pone al día).
+ */
+public class ConexionSse {
+
+    private static final Logger log = LoggerFactory.getLogger(ConexionSse.class);
+
+    private final GrupoConexionesSse<?> grupo;
+    private final long id;
+    private final SseEmitter emitter = new SseEmitter(0L);
+    // Cola enlazada que crece con lo encolado: una conexión al día no reserva la capacidad completa
+    private final Queue<SseEmitter.SseEventBuilder> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger enCola = new AtomicInteger();
+    private final AtomicBoolean enviando = new AtomicBoolean();
+    private final AtomicBoolean completada = new AtomicBoolean();
+    private volatile boolean cerrada;
+
+    public ConexionSse(GrupoConexionesSse<?> grupo, long id) {
+        this.grupo = grupo;
+        this.id = id;
+        emitter.onCompletion(this::liberar);
+        emitter.onTimeout(this::liberar);
+        emitter.onError(e -> liberar());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    // Encolar sin bloquear; con la cola llena el cliente es demasiado lento y se desconecta
+    public boolean encolar(SseEmitter.SseEventBuilder evento) {
+        if (cerrada) {
+            return false;
+        }
+        if (enCola.incrementAndGet() > grupo.capacidadPorConexion()) {
+            enCola.decrementAndGet();
+            log.debug("Conexión {} del stream {} cerrada: cliente lento", id, grupo.nombre());
+            desconectar();
+            return false;
+        }
+        pendientes.offer(evento);
+        programarEnvio();
+        return true;
+    }
+
+    // Deja de aceptar eventos; el emitter lo cierra el envío de la conexión, que es quien puede
+    // estar bloqueado escribiendo en él (cerrarlo desde otro hilo esperaría a esa escritura)
+    public void desconectar() {
+        liberar();
+        programarEnvio();
+    }
+
+    private void liberar() {
+        cerrada = true;
+        grupo.liberar(id);
+        pendientes.clear();
+    }
+
+    private void programarEnvio() {
+        if (enviando.compareAndSet(false, true)) {
+            grupo.envios().execute(this::vaciar);
+        }
+    }
+
+    private void vaciar() {
+        Throwable error = null;
+        try {
+            SseEmitter.SseEventBuilder evento;
+            while (!cerrada && (evento = pendientes.poll()) != null) {
+                enCola.decrementAndGet();
+                emitter.send(evento);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Cliente desconectado: liberar la conexión
+            error = ex;
+            liberar();
+        } finally {
+            enviando.set(false);
+        }
+        if (cerrada) {
+            completar(error);
+        } else if (!pendientes.isEmpty()) {
+            // Lo encolado mientras terminaba este envío
+            programarEnvio();
+        }
+    }
+
+    private void completar(Throwable error) {
+        if (!completada.compareAndSet(false, true)) {
+            return;
+        }
+        if (error != null) {
+            emitter.completeWithError(error);
+        } else {
+            emitter.complete();
+        }
+    }
+
+}
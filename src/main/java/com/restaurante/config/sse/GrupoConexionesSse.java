@@ -0,0 +1,113 @@
+package com.restaurante.config.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Conexiones de un stream SSE: límite de conexiones, grupo de hilos que vacía sus colas de envío y
+ * latido periódico para mantenerlas vivas y detectar clientes caídos.
+ */
+public class GrupoConexionesSse<C extends ConexionSse> {
+
+    private final String nombre;
+    private final int maxConexiones;
+    private final int capacidadPorConexion;
+
+    private final Map<Long, C> conexiones = new ConcurrentHashMap<>();
+    // Lugares reservados: se cuentan antes de crear la conexión para que el límite sea exacto
+    private final AtomicInteger activas = new AtomicInteger();
+    private final AtomicLong ids = new AtomicLong();
+
+    private final ExecutorService envios;
+    private final ScheduledExecutorService latidos;
+
+    public GrupoConexionesSse(String nombre, int maxConexiones, int capacidadPorConexion,
+                              int hilosEnvio, long latidoSegundos) {
+        this.nombre = nombre;
+        this.maxConexiones = maxConexiones;
+        this.capacidadPorConexion = capacidadPorConexion;
+        AtomicInteger contador = new AtomicInteger();
+        this.envios = Executors.newFixedThreadPool(Math.max(hilosEnvio, 1), r -> {
+            Thread t = new Thread(r, nombre + "-envio-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.latidos = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, nombre + "-latido");
+            t.setDaemon(true);
+            return t;
+        });
+        this.latidos.scheduleWithFixedDelay(this::enviarLatido, latidoSegundos, latidoSegundos, TimeUnit.SECONDS);
+    }
+
+    // Reservar un lugar y registrar la conexión que crea la fábrica (recibe el id de la conexión)
+    public C abrir(LongFunction<C> fabrica) {
+        int ocupadas;
+        do {
+            ocupadas = activas.get();
+            if (ocupadas >= maxConexiones) {
+                throw new IllegalStateException("Se alcanzó el límite de conexiones del stream " + nombre);
+            }
+        } while (!activas.compareAndSet(ocupadas, ocupadas + 1));
+
+        C conexion;
+        try {
+            conexion = fabrica.apply(ids.incrementAndGet());
+        } catch (RuntimeException e) {
+            activas.decrementAndGet();
+            throw e;
+        }
+        conexiones.put(conexion.getId(), conexion);
+        return conexion;
+    }
+
+    // Vista concurrente de las conexiones abiertas (para difundir sin bloquear a quien conecta)
+    public Collection<C> conexiones() {
+        return conexiones.values();
+    }
+
+    public int activas() {
+        return activas.get();
+    }
+
+    public void cerrar() {
+        latidos.shutdownNow();
+        conexiones.values().forEach(ConexionSse::desconectar);
+        envios.shutdown();
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    int capacidadPorConexion() {
+        return capacidadPorConexion;
+    }
+
+    Executor envios() {
+        return envios;
+    }
+
+    // Cada conexión se libera una sola vez, aunque la cierren a la vez su envío y el contenedor
+    void liberar(long id) {
+        if (conexiones.remove(id) != null) {
+            activas.decrementAndGet();
+        }
+    }
+
+    private void enviarLatido() {
+        conexiones.values().forEach(conexion -> conexion.encolar(SseEmitter.event().comment("latido")));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.restaurante.gestionCocina.controller;
+
+import com.restaurante.gestionCocina.model.Cocinero;
+import com.restaurante.gestionCocina.model.ResultadoTarea;
+import com.restaurante.gestionCocina.model.TareaCocina;
+import com.restaurante.gestionCocina.service.PlanificadorCocina;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collection;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/cocina")
+public class CocinaController {
+
+    private final PlanificadorCocina planificador;
+
+    public CocinaController(PlanificadorCocina planificador) {
+        this.planificador = planificador;
+    }
+
+    // Profundidad de cada cola y la espera de su siguiente línea
+    @GetMapping("/colas")
+    public Map<String, Object> colas() {
+        return planificador.colas();
+    }
+
+    @GetMapping("/cocineros")
+    public Collection<Cocinero> cocineros() {
+        return planificador.cocineros();
+    }
+
+    // El cocinero toma la siguiente línea (204 si no hay trabajo en ninguna estación)
+    @PostMapping("/cocineros/{idEmpleado}/siguiente")
+    public ResponseEntity<TareaCocina> siguiente(@PathVariable Long idEmpleado) {
+        return planificador.siguiente(idEmpleado)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+
+    // Línea lista; con la última del pedido este pasa a TERMINADO
+    @PostMapping("/cocineros/{idEmpleado}/completar")
+    public ResultadoTarea completar(@PathVariable Long idEmpleado) {
+        return planificador.completar(idEmpleado);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> peticionInvalida(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> conflicto(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.restaurante.gestionCocina.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Empleado de cocina o barra y la tarea que está preparando (como máximo una a la vez)
+ */
+public class Cocinero {
+
+    private final Long idEmpleado;
+    private final String nombre;
+    private final Estacion estacion;
+
+    private TareaCocina tareaActual;
+    private boolean robada;
+    private long asignadaNanos;
+
+    public Cocinero(Long idEmpleado, String nombre, Estacion estacion) {
+        this.idEmpleado = idEmpleado;
+        this.nombre = nombre;
+        this.estacion = estacion;
+    }
+
+    public synchronized void asignar(TareaCocina tarea, boolean robada) {
+        this.tareaActual = tarea;
+        this.robada = robada;
+        this.asignadaNanos = System.nanoTime();
+    }
+
+    public synchronized void liberar() {
+        this.tareaActual = null;
+        this.robada = false;
+    }
+
+    public Long getIdEmpleado() {
+        return idEmpleado;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Estacion getEstacion() {
+        return estacion;
+    }
+
+    public synchronized TareaCocina getTareaActual() {
+        return tareaActual;
+    }
+
+    // La tarea actual vino de la cola de otra estación
+    public synchronized boolean isRobada() {
+        return robada;
+    }
+
+    @JsonIgnore
+    public synchronized long getAsignadaNanos() {
+        return asignadaNanos;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.restaurante.gestionCocina.model;
+
+/**
+ * Estaciones de preparación y el rol de empleado que trabaja en cada una
+ */
+public enum Estacion {
+    BARRA("BARISTA"),
+    COCINA("COCINERO");
+
+    private final String rol;
+
+    Estacion(String rol) {
+        this.rol = rol;
+    }
+
+    public String getRol() {
+        return rol;
+    }
+}
@@ -0,0 +1,24 @@
+package com.restaurante.gestionCocina.model;
+
+/**
+ * Tarea completada por un cocinero y si con ella quedó listo el pedido completo
+ */
+public class ResultadoTarea {
+
+    private final TareaCocina tarea;
+    private final boolean pedidoTerminado;
+
+    public ResultadoTarea(TareaCocina tarea, boolean pedidoTerminado) {
+        this.tarea = tarea;
+        this.pedidoTerminado = pedidoTerminado;
+    }
+
+    public TareaCocina getTarea() {
+        return tarea;
+    }
+
+    public boolean isPedidoTerminado() {
+        return pedidoTerminado;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.restaurante.gestionCocina.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+/**
+ * Línea de un pedido a preparar en una estación.
+ * La prioridad combina antigüedad y tamaño del pedido: cada unidad del pedido retrasa la tarea un
+ * tiempo fijo (los pedidos pequeños salen antes), pero como el retraso es acotado ninguna tarea espera
+ * indefinidamente detrás de pedidos más nuevos.
+ */
+public final class TareaCocina implements Comparable<TareaCocina> {
+
+    private final long id;
+    private final Long idPedido;
+    private final Long idProducto;
+    private final String producto;
+    private final int cantidad;
+    private final int unidadesPedido;
+    private final Estacion estacion;
+    private final Instant encolada;
+    private final long encoladaNanos;
+    private final long clavePrioridad;
+
+    public TareaCocina(long id, Long idPedido, Long idProducto, String producto, int cantidad,
+                       int unidadesPedido, Estacion estacion, long penalizacionUnidadNanos) {
+        this.id = id;
+        this.idPedido = idPedido;
+        this.idProducto = idProducto;
+        this.producto = producto;
+        this.cantidad = cantidad;
+        this.unidadesPedido = unidadesPedido;
+        this.estacion = estacion;
+        this.encolada = Instant.now();
+        this.encoladaNanos = System.nanoTime();
+        this.clavePrioridad = encoladaNanos + unidadesPedido * penalizacionUnidadNanos;
+    }
+
+    @Override
+    public int compareTo(TareaCocina otra) {
+        int c = Long.compare(clavePrioridad - otra.clavePrioridad, 0);
+        return c != 0 ? c : Long.compare(id, otra.id);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getIdPedido() {
+        return idPedido;
+    }
+
+    public Long getIdProducto() {
+        return idProducto;
+    }
+
+    public String getProducto() {
+        return producto;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int getUnidadesPedido() {
+        return unidadesPedido;
+    }
+
+    public Estacion getEstacion() {
+        return estacion;
+    }
+
+    public Instant getEncolada() {
+        return encolada;
+    }
+
+    @JsonIgnore
+    public long getEncoladaNanos() {
+        return encoladaNanos;
+    }
+
+}
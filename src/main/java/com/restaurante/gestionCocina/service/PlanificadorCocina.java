@@ -0,0 +1,332 @@
+package com.restaurante.gestionCocina.service;
+
+import com.restaurante.gestionCocina.model.Cocinero;
+import com.restaurante.gestionCocina.model.Estacion;
+import com.restaurante.gestionCocina.model.ResultadoTarea;
+import com.restaurante.gestionCocina.model.TareaCocina;
+import com.restaurante.gestionEmpleados.model.Empleado;
+import com.restaurante.gestionEmpleados.repository.EmpleadoRepository;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.repository.PedidoRepository;
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.service.ProductoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Planificador de cocina: reparte las líneas de cada pedido enviado a cocina entre estaciones
+ * (barra o cocina caliente, según la categoría del producto) en colas de prioridad concurrentes.
+ * Cada cocinero toma la siguiente tarea de su estación; si su cola está vacía roba de la estación
+ * con más trabajo pendiente. Al completar la última línea de un pedido se avisa a los suscriptores;
+ * si alguno falla, el pedido queda pendiente de terminar y el aviso se repite más tarde.
+ */
+@Service
+public class PlanificadorCocina {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanificadorCocina.class);
+
+    // Líneas pendientes de un pedido en cocina
+    private static final class PedidoEnCocina {
+        private final AtomicInteger pendientes;
+
+        PedidoEnCocina(int lineas) {
+            this.pendientes = new AtomicInteger(lineas);
+        }
+    }
+
+    private final EmpleadoRepository empleadoRepo;
+    private final PedidoRepository pedidoRepo;
+    private final ProductoService productoService;
+
+    private final Set<String> categoriasBarra;
+    private final long penalizacionUnidadNanos;
+    private final boolean roboHabilitado;
+
+    private final Map<Estacion, PriorityBlockingQueue<TareaCocina>> colas = new EnumMap<>(Estacion.class);
+    private final Map<Long, PedidoEnCocina> enCocina = new ConcurrentHashMap<>();
+    private final Map<Long, Cocinero> cocineros = new ConcurrentHashMap<>();
+    // Pedidos con todas sus líneas listas cuyo aviso de fin falló (se reintenta periódicamente)
+    private final Set<Long> porTerminar = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService reintentos;
+    private final List<Consumer<Long>> alTerminar = new CopyOnWriteArrayList<>();
+    private final AtomicLong idsTarea = new AtomicLong();
+
+    // Medidores creados una sola vez: [estación][robada]
+    private final Map<Estacion, Counter> robos = new EnumMap<>(Estacion.class);
+    private final Timer[][] esperas = new Timer[Estacion.values().length][2];
+    private final Timer[][] preparaciones = new Timer[Estacion.values().length][2];
+
+    public PlanificadorCocina(EmpleadoRepository empleadoRepo,
+                              PedidoRepository pedidoRepo,
+                              ProductoService productoService,
+                              MeterRegistry registry,
+                              @Value("${app.cocina.categorias-barra:BEBIDA_CALIENTE,BEBIDA_FRIA}") List<String> categoriasBarra,
+                              @Value("${app.cocina.penalizacion-unidad-ms:500}") long penalizacionUnidadMs,
+                              @Value("${app.cocina.robo-trabajo:true}") boolean roboHabilitado,
+                              @Value("${app.cocina.reintento-terminar-ms:5000}") long reintentoTerminarMs) {
+        this.empleadoRepo = empleadoRepo;
+        this.pedidoRepo = pedidoRepo;
+        this.productoService = productoService;
+        this.categoriasBarra = categoriasBarra.stream()
+                .map(c -> c.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.penalizacionUnidadNanos = TimeUnit.MILLISECONDS.toNanos(penalizacionUnidadMs);
+        this.roboHabilitado = roboHabilitado;
+        this.reintentos = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cocina-reintento-terminar");
+            t.setDaemon(true);
+            return t;
+        });
+        this.reintentos.scheduleWithFixedDelay(this::reintentarTerminados,
+                reintentoTerminarMs, reintentoTerminarMs, TimeUnit.MILLISECONDS);
+
+        for (Estacion estacion : Estacion.values()) {
+            PriorityBlockingQueue<TareaCocina> cola = new PriorityBlockingQueue<>();
+            colas.put(estacion, cola);
+            Gauge.builder("cocina.cola.profundidad", cola, PriorityBlockingQueue::size)
+                    .description("Líneas en espera por estación")
+                    .tag("estacion", estacion.name())
+                    .register(registry);
+            robos.put(estacion, Counter.builder("cocina.tareas.robadas")
+                    .description("Tareas tomadas por cocineros de otra estación")
+                    .tag("estacion", estacion.name())
+                    .register(registry));
+            for (int robada = 0; robada < 2; robada++) {
+                esperas[estacion.ordinal()][robada] = timer(registry, "cocina.espera",
+                        "Espera de una línea hasta que un cocinero la toma", estacion, robada == 1);
+                preparaciones[estacion.ordinal()][robada] = timer(registry, "cocina.preparacion",
+                        "Tiempo de preparación de una línea", estacion, robada == 1);
+            }
+        }
+    }
+
+    // Cocineros desde empleados y pedidos que ya estaban en cocina antes de reiniciar
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        for (Estacion estacion : Estacion.values()) {
+            empleadoRepo.findByRol(estacion.getRol()).forEach(e ->
+                    cocineros.put(e.getId(), new Cocinero(e.getId(), e.getNombre(), estacion)));
+        }
+
+        Map<Long, Map<Long, Integer>> porPedido = new LinkedHashMap<>();
+        for (Object[] fila : pedidoRepo.contarUnidadesPorProductoEnEstado(Pedido.EstadoPedido.COCINANDO)) {
+            porPedido.computeIfAbsent((Long) fila[0], id -> new LinkedHashMap<>())
+                    .put((Long) fila[1], ((Number) fila[2]).intValue());
+        }
+        porPedido.forEach(this::encolar);
+        log.info("Cocina: {} cocineros, {} pedidos en preparación recuperados", cocineros.size(), porPedido.size());
+    }
+
+    // Observer Pattern - Suscribirse al fin de pedidos (recibe el id del pedido completo)
+    public void alCompletarPedido(Consumer<Long> suscriptor) {
+        alTerminar.add(suscriptor);
+    }
+
+    // Repartir las líneas de un pedido recién enviado a cocina (unidades por producto)
+    public void encolar(Long idPedido, Map<Long, Integer> unidadesPorProducto) {
+        if (unidadesPorProducto.isEmpty()
+                || enCocina.putIfAbsent(idPedido, new PedidoEnCocina(unidadesPorProducto.size())) != null) {
+            return;
+        }
+        Map<Long, Producto> productos = productoService.buscarPorIds(unidadesPorProducto.keySet());
+        int unidadesPedido = unidadesPorProducto.values().stream().mapToInt(Integer::intValue).sum();
+
+        unidadesPorProducto.forEach((idProducto, cantidad) -> {
+            Producto producto = productos.get(idProducto);
+            Estacion estacion = estacionDe(producto);
+            colas.get(estacion).offer(new TareaCocina(idsTarea.incrementAndGet(), idPedido, idProducto,
+                    producto != null ? producto.getNombre() : null, cantidad, unidadesPedido, estacion,
+                    penalizacionUnidadNanos));
+        });
+    }
+
+    // El pedido salió de cocina por otra vía (terminado a mano): sus líneas dejan de esperar
+    public void retirar(Long idPedido) {
+        porTerminar.remove(idPedido);
+        if (enCocina.remove(idPedido) != null) {
+            colas.values().forEach(cola -> cola.removeIf(t -> t.getIdPedido().equals(idPedido)));
+        }
+    }
+
+    // Asignar a un cocinero libre la siguiente tarea de su estación, o robar de la más cargada
+    public Optional<TareaCocina> siguiente(Long idEmpleado) {
+        Cocinero cocinero = cocinero(idEmpleado);
+        synchronized (cocinero) {
+            if (cocinero.getTareaActual() != null) {
+                throw new IllegalStateException("El cocinero ya tiene una tarea en curso: " + cocinero.getTareaActual().getId());
+            }
+            TareaCocina tarea = colas.get(cocinero.getEstacion()).poll();
+            boolean robada = false;
+            if (tarea == null && roboHabilitado) {
+                tarea = robar(cocinero.getEstacion());
+                robada = tarea != null;
+            }
+            if (tarea == null) {
+                return Optional.empty();
+            }
+            cocinero.asignar(tarea, robada);
+            esperas[tarea.getEstacion().ordinal()][robada ? 1 : 0].record(System.nanoTime() - tarea.getEncoladaNanos(), TimeUnit.NANOSECONDS);
+            return Optional.of(tarea);
+        }
+    }
+
+    // Marcar como lista la tarea actual del cocinero; la última línea de un pedido lo termina
+    public ResultadoTarea completar(Long idEmpleado) {
+        Cocinero cocinero = cocinero(idEmpleado);
+        TareaCocina tarea;
+        boolean robada;
+        long asignadaNanos;
+        synchronized (cocinero) {
+            tarea = cocinero.getTareaActual();
+            if (tarea == null) {
+                throw new IllegalStateException("El cocinero no tiene una tarea en curso");
+            }
+            robada = cocinero.isRobada();
+            asignadaNanos = cocinero.getAsignadaNanos();
+            cocinero.liberar();
+        }
+        preparaciones[tarea.getEstacion().ordinal()][robada ? 1 : 0].record(System.nanoTime() - asignadaNanos, TimeUnit.NANOSECONDS);
+
+        PedidoEnCocina pedido = enCocina.get(tarea.getIdPedido());
+        boolean terminado = pedido != null
+                && pedido.pendientes.decrementAndGet() == 0
+                && enCocina.remove(tarea.getIdPedido(), pedido);
+        if (terminado && !avisarTerminado(tarea.getIdPedido())) {
+            porTerminar.add(tarea.getIdPedido());
+        }
+        return new ResultadoTarea(tarea, terminado);
+    }
+
+    // Observer Pattern - Avisar a los suscriptores; false si alguno falló (deben tolerar avisos repetidos)
+    private boolean avisarTerminado(Long idPedido) {
+        boolean avisado = true;
+        for (Consumer<Long> suscriptor : alTerminar) {
+            try {
+                suscriptor.accept(idPedido);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo terminar automáticamente el pedido #{}; se reintentará", idPedido, e);
+                avisado = false;
+            }
+        }
+        return avisado;
+    }
+
+    private void reintentarTerminados() {
+        for (Long idPedido : porTerminar) {
+            if (avisarTerminado(idPedido)) {
+                porTerminar.remove(idPedido);
+            }
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        reintentos.shutdownNow();
+    }
+
+    public Collection<Cocinero> cocineros() {
+        return cocineros.values();
+    }
+
+    // Profundidad y espera de la siguiente tarea de cada estación
+    public Map<String, Object> colas() {
+        long ahora = System.nanoTime();
+        Map<String, Object> m = new LinkedHashMap<>();
+        colas.forEach((estacion, cola) -> {
+            TareaCocina siguiente = cola.peek();
+            Map<String, Object> e = new LinkedHashMap<>();
+            e.put("profundidad", cola.size());
+            e.put("esperaSiguienteMs", siguiente != null
+                    ? TimeUnit.NANOSECONDS.toMillis(ahora - siguiente.getEncoladaNanos()) : 0);
+            e.put("siguiente", siguiente);
+            m.put(estacion.name(), e);
+        });
+        m.put("pedidosEnCocina", enCocina.size());
+        m.put("pedidosPorTerminar", porTerminar.size());
+        return m;
+    }
+
+    // Robar la tarea de mayor prioridad de la estación ajena con más líneas en espera
+    private TareaCocina robar(Estacion propia) {
+        PriorityBlockingQueue<TareaCocina> victima = null;
+        Estacion estacionVictima = null;
+        for (Map.Entry<Estacion, PriorityBlockingQueue<TareaCocina>> e : colas.entrySet()) {
+            if (e.getKey() != propia && (victima == null || e.getValue().size() > victima.size())) {
+                victima = e.getValue();
+                estacionVictima = e.getKey();
+            }
+        }
+        TareaCocina tarea = victima != null ? victima.poll() : null;
+        if (tarea != null) {
+            robos.get(estacionVictima).increment();
+        }
+        return tarea;
+    }
+
+    private Estacion estacionDe(Producto producto) {
+        if (producto != null && producto.getCategoria() != null
+                && categoriasBarra.contains(producto.getCategoria().toUpperCase(Locale.ROOT))) {
+            return Estacion.BARRA;
+        }
+        return Estacion.COCINA;
+    }
+
+    // Cocinero registrado al iniciar o, si es nuevo, buscado una vez en empleados por su rol
+    private Cocinero cocinero(Long idEmpleado) {
+        Cocinero cocinero = cocineros.get(idEmpleado);
+        if (cocinero != null) {
+            return cocinero;
+        }
+        Empleado empleado = empleadoRepo.findById(idEmpleado)
+                .orElseThrow(() -> new IllegalArgumentException("Empleado no encontrado: " + idEmpleado));
+        for (Estacion estacion : Estacion.values()) {
+            if (estacion.getRol().equalsIgnoreCase(empleado.getRol())) {
+                return cocineros.computeIfAbsent(idEmpleado,
+                        id -> new Cocinero(id, empleado.getNombre(), estacion));
+            }
+        }
+        throw new IllegalArgumentException("El empleado " + idEmpleado + " no trabaja en cocina ni en barra");
+    }
+
+    private static Timer timer(MeterRegistry registry, String nombre, String descripcion,
+                               Estacion estacion, boolean robada) {
+        return Timer.builder(nombre)
+                .description(descripcion)
+                .tag("estacion", estacion.name())
+                .tag("robada", String.valueOf(robada))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.restaurante.gestionDiagnostico.controller;
+
+import com.restaurante.gestionDiagnostico.service.EstadisticasCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/diagnostico")
+public class DiagnosticoController {
+
+    private final EstadisticasCacheService cache;
+
+    // La grabación JFR se controla desde Actuator (GrabacionJfrEndpoint), fuera de la API pública
+    public DiagnosticoController(EstadisticasCacheService cache) {
+        this.cache = cache;
+    }
+
+    // Caché de segundo nivel: aciertos, fallos y ratio por región
+    @GetMapping("/cache")
+    public Map<String, Object> estadisticasCache() {
+        return cache.porRegion();
+    }
+
+    @PostMapping("/cache/reiniciar")
+    public ResponseEntity<Void> reiniciarEstadisticasCache() {
+        cache.reiniciar();
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.restaurante.gestionDiagnostico.controller;
+
+import com.restaurante.gestionDiagnostico.service.GrabacionJfrService;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Grabación JFR como endpoint de Actuator (/actuator/jfr), fuera de la API pública: solo se publica
+ * si se incluye en management.endpoints.web.exposure (idealmente con management.server.port interno).
+ * GET /actuator/jfr estado | POST /actuator/jfr/iniciar, /detener | GET /actuator/jfr/volcado descarga
+ * la ventana grabada (abrir con JDK Mission Control o `jfr print`); el archivo temporal se borra al enviarlo.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class GrabacionJfrEndpoint {
+
+    private final GrabacionJfrService jfr;
+
+    public GrabacionJfrEndpoint(GrabacionJfrService jfr) {
+        this.jfr = jfr;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        return jfr.estado();
+    }
+
+    @WriteOperation
+    public Map<String, Object> cambiar(@Selector String accion) {
+        return switch (accion) {
+            case "iniciar" -> jfr.iniciar();
+            case "detener" -> jfr.detener();
+            default -> throw new InvalidEndpointRequestException("Acción desconocida: " + accion,
+                    "Acción JFR desconocida (iniciar | detener)");
+        };
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> volcado(@Selector String recurso) {
+        if (!"volcado".equals(recurso)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            return new WebEndpointResponse<>(new ArchivoTemporal(jfr.volcar()));
+        } catch (IllegalStateException e) {
+            // Sin grabación activa
+            return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+        }
+    }
+
+    // Archivo que se borra al terminar de leerlo (o al cerrar la lectura por un cliente que se fue)
+    private static final class ArchivoTemporal extends FileSystemResource {
+
+        ArchivoTemporal(Path archivo) {
+            super(archivo);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        // Sin acceso directo al archivo: así se envía leyendo getInputStream y el borrado siempre ocurre
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+
+}
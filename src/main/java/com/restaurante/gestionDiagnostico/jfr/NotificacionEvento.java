@@ -0,0 +1,66 @@
+package com.restaurante.gestionDiagnostico.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR del bus de notificaciones: publicación (Observer/Mediator) y entrega a cada suscriptor.
+ */
+@Name("cafedelbosque.Notificacion")
+@Label("Notificación de pedido")
+@Category({"Café del Bosque", "Notificaciones"})
+@Description("Publicación en el bus o entrega a un suscriptor")
+@StackTrace(false)
+public class NotificacionEvento extends Event {
+
+    public static final String PUBLICAR = "PUBLICAR";
+    public static final String ENTREGAR = "ENTREGAR";
+
+    @Label("Fase")
+    String fase;
+
+    @Label("Tipo de evento")
+    String tipo;
+
+    @Label("Id del pedido")
+    long idPedido;
+
+    @Label("Secuencia")
+    long secuencia;
+
+    @Label("Suscriptor")
+    String suscriptor;
+
+    @Label("Aceptado")
+    @Description("En la publicación, false si la cola estaba llena; en la entrega, false si el suscriptor falló")
+    boolean aceptado;
+
+    public static NotificacionEvento iniciar() {
+        NotificacionEvento evento = new NotificacionEvento();
+        if (evento.isEnabled()) {
+            evento.begin();
+        }
+        return evento;
+    }
+
+    public void terminar(String fase, String tipo, long idPedido, long secuencia, String suscriptor, boolean aceptado) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.fase = fase;
+            this.tipo = tipo;
+            this.idPedido = idPedido;
+            this.secuencia = secuencia;
+            this.suscriptor = suscriptor;
+            this.aceptado = aceptado;
+            commit();
+        }
+    }
+
+}
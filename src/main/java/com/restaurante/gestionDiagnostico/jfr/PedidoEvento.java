@@ -0,0 +1,78 @@
+package com.restaurante.gestionDiagnostico.jfr;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una operación del ciclo de vida de un pedido (crear, agregar líneas, transiciones, pago).
+ * Sin una grabación activa, iniciar/terminar solo consultan isEnabled().
+ */
+@Name("cafedelbosque.Pedido")
+@Label("Operación de pedido")
+@Category({"Café del Bosque", "Pedidos"})
+@Description("Operación de PedidoService con el pedido afectado")
+@StackTrace(false)
+public class PedidoEvento extends Event {
+
+    public static final String CREAR = "CREAR";
+    public static final String AGREGAR_LINEAS = "AGREGAR_LINEAS";
+    public static final String ENVIAR_COCINA = "ENVIAR_COCINA";
+    public static final String TERMINAR = "TERMINAR";
+    public static final String PAGAR = "PAGAR";
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Id del pedido")
+    long idPedido;
+
+    @Label("Líneas del pedido")
+    int lineas;
+
+    @Label("Líneas agregadas")
+    int lineasAgregadas;
+
+    @Label("Estado resultante")
+    String estado;
+
+    @Label("Encontrado")
+    boolean encontrado;
+
+    public static PedidoEvento iniciar(String operacion, Long idPedido) {
+        PedidoEvento evento = new PedidoEvento();
+        if (evento.isEnabled()) {
+            evento.operacion = operacion;
+            evento.idPedido = idPedido != null ? idPedido : 0;
+            evento.begin();
+        }
+        return evento;
+    }
+
+    public PedidoEvento lineasAgregadas(int lineasAgregadas) {
+        this.lineasAgregadas = lineasAgregadas;
+        return this;
+    }
+
+    // Cerrar el evento con el pedido resultante (null si no existía)
+    public void terminar(Pedido pedido) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            encontrado = pedido != null;
+            if (pedido != null) {
+                idPedido = pedido.getId();
+                lineas = pedido.getCantidadLineas();
+                estado = pedido.getEstado().name();
+            }
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.restaurante.gestionDiagnostico.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una llamada a un repositorio Spring Data (consulta, filas devueltas y duración).
+ */
+@Name("cafedelbosque.Repositorio")
+@Label("Consulta de repositorio")
+@Category({"Café del Bosque", "Base de datos"})
+@Description("Método de repositorio Spring Data invocado")
+@StackTrace(false)
+public class RepositorioEvento extends Event {
+
+    @Label("Consulta")
+    String consulta;
+
+    @Label("Filas")
+    @Description("Elementos devueltos; -1 si no se puede contar (streams, escalares)")
+    long filas;
+
+    @Label("Error")
+    String error;
+
+}
@@ -0,0 +1,89 @@
+package com.restaurante.gestionDiagnostico.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Agrega a cada repositorio Spring Data un interceptor que emite un RepositorioEvento por llamada.
+ * Con JFR inactivo el interceptor solo consulta isEnabled() y delega.
+ */
+@Component
+public class RepositorioJfrPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, metadata) ->
+                            proxyFactory.addAdvice(new Interceptor(metadata.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private static final class Interceptor implements MethodInterceptor {
+        private final String repositorio;
+
+        Interceptor(String repositorio) {
+            this.repositorio = repositorio;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositorioEvento evento = new RepositorioEvento();
+            if (!evento.isEnabled()) {
+                return invocation.proceed();
+            }
+            evento.begin();
+            Object resultado = null;
+            Throwable error = null;
+            try {
+                resultado = invocation.proceed();
+                return resultado;
+            } catch (Throwable t) {
+                error = t;
+                throw t;
+            } finally {
+                evento.end();
+                if (evento.shouldCommit()) {
+                    evento.consulta = repositorio + "." + invocation.getMethod().getName();
+                    evento.filas = error == null ? filas(resultado) : 0;
+                    evento.error = error != null ? error.getClass().getSimpleName() : null;
+                    evento.commit();
+                }
+            }
+        }
+
+        private static long filas(Object resultado) {
+            if (resultado == null) {
+                return 0;
+            }
+            if (resultado instanceof Collection<?> c) {
+                return c.size();
+            }
+            if (resultado instanceof Slice<?> s) {
+                return s.getNumberOfElements();
+            }
+            if (resultado instanceof Map<?, ?> m) {
+                return m.size();
+            }
+            if (resultado instanceof Optional<?> o) {
+                return o.isPresent() ? 1 : 0;
+            }
+            if (resultado instanceof Iterable<?> || resultado instanceof BaseStream<?, ?>
+                    || resultado instanceof Number || resultado instanceof Boolean) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+
+}
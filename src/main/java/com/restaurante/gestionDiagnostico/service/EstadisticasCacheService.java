@@ -0,0 +1,60 @@
+package com.restaurante.gestionDiagnostico.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Aciertos y fallos por región de la caché de segundo nivel (entidades y consultas), para dimensionar
+ * max-entradas y TTL de app.cache.regiones con tráfico real. Requiere app.cache.estadisticas=true.
+ */
+@Service
+public class EstadisticasCacheService {
+
+    private final EntityManagerFactory emf;
+
+    public EstadisticasCacheService(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    public Map<String, Object> porRegion() {
+        SessionFactoryImplementor fabrica = emf.unwrap(SessionFactoryImplementor.class);
+        Statistics estadisticas = fabrica.getStatistics();
+
+        Map<String, Object> r = new LinkedHashMap<>();
+        r.put("estadisticasActivas", estadisticas.isStatisticsEnabled());
+        Map<String, Object> regiones = new LinkedHashMap<>();
+        for (String nombre : new TreeSet<>(fabrica.getCache().getCacheRegionNames())) {
+            CacheRegionStatistics region = estadisticas.getCacheRegionStatistics(nombre);
+            if (region != null) {
+                regiones.put(nombre, resumen(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+        r.put("regiones", regiones);
+        r.put("consultas", resumen(estadisticas.getQueryCacheHitCount(), estadisticas.getQueryCacheMissCount(),
+                estadisticas.getQueryCachePutCount()));
+        return r;
+    }
+
+    // Empezar una medición desde cero (por ejemplo, después del calentamiento de una prueba de carga)
+    public void reiniciar() {
+        emf.unwrap(SessionFactoryImplementor.class).getStatistics().clear();
+    }
+
+    private static Map<String, Object> resumen(long aciertos, long fallos, long escrituras) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("aciertos", aciertos);
+        m.put("fallos", fallos);
+        m.put("escrituras", escrituras);
+        long lecturas = aciertos + fallos;
+        m.put("ratioAciertos", lecturas == 0 ? null : (double) aciertos / lecturas);
+        return m;
+    }
+
+}
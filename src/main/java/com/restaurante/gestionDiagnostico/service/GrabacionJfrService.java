@@ -0,0 +1,137 @@
+package com.restaurante.gestionDiagnostico.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Grabación JFR continua y acotada (por edad y tamaño) para diagnosticar picos de latencia después del hecho.
+ * Se puede iniciar al arrancar (app.jfr.grabar-al-iniciar) o desde Actuator, y volcar cuando ocurre un pico.
+ * No graba propiedades del sistema, variables de entorno ni argumentos de la JVM: pueden llevar credenciales.
+ */
+@Service
+public class GrabacionJfrService {
+
+    private static final Logger log = LoggerFactory.getLogger(GrabacionJfrService.class);
+
+    private final boolean grabarAlIniciar;
+    private final String configuracion;
+    private final Duration maxEdad;
+    private final long maxBytes;
+
+    private Recording grabacion;
+
+    public GrabacionJfrService(@Value("${app.jfr.grabar-al-iniciar:false}") boolean grabarAlIniciar,
+                               @Value("${app.jfr.configuracion:default}") String configuracion,
+                               @Value("${app.jfr.max-edad-minutos:10}") long maxEdadMinutos,
+                               @Value("${app.jfr.max-tamano-mb:100}") long maxTamanoMb) {
+        this.grabarAlIniciar = grabarAlIniciar;
+        this.configuracion = configuracion;
+        this.maxEdad = Duration.ofMinutes(maxEdadMinutos);
+        this.maxBytes = maxTamanoMb * 1024 * 1024;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void alIniciar() {
+        if (grabarAlIniciar) {
+            iniciar();
+        }
+    }
+
+    // Iniciar la grabación circular (si ya hay una activa no se crea otra)
+    public synchronized Map<String, Object> iniciar() {
+        if (grabacion == null || grabacion.getState() != RecordingState.RUNNING) {
+            try {
+                Recording nueva = new Recording(Configuration.getConfiguration(configuracion));
+                nueva.setName("cafedelbosque");
+                nueva.setToDisk(true);
+                nueva.setMaxAge(maxEdad);
+                nueva.setMaxSize(maxBytes);
+                // Eventos que copian la configuración del proceso (contraseña de la base, tokens)
+                nueva.disable("jdk.InitialSystemProperty");
+                nueva.disable("jdk.InitialEnvironmentVariable");
+                nueva.disable("jdk.JVMInformation");
+                nueva.start();
+                grabacion = nueva;
+                log.info("Grabación JFR iniciada (configuración '{}', máx. {} / {} MB)",
+                        configuracion, maxEdad, maxBytes / (1024 * 1024));
+            } catch (IOException | ParseException e) {
+                throw new IllegalStateException("No se pudo cargar la configuración JFR '" + configuracion + "'", e);
+            }
+        }
+        return estado();
+    }
+
+    // Volcar la ventana grabada a un archivo temporal que quien lo pide debe borrar tras enviarlo;
+    // la grabación sigue activa
+    public synchronized Path volcar() {
+        if (grabacion == null || grabacion.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No hay una grabación JFR activa");
+        }
+        Path archivo = null;
+        try {
+            archivo = Files.createTempFile("cafedelbosque-", ".jfr");
+            grabacion.dump(archivo);
+            log.info("Grabación JFR volcada ({} bytes)", Files.size(archivo));
+            return archivo;
+        } catch (IOException e) {
+            borrar(archivo);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void borrar(Path archivo) {
+        if (archivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el volcado JFR {}", archivo, e);
+        }
+    }
+
+    public synchronized Map<String, Object> detener() {
+        if (grabacion != null) {
+            grabacion.close();
+            grabacion = null;
+        }
+        return estado();
+    }
+
+    public synchronized Map<String, Object> estado() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        boolean activa = grabacion != null && grabacion.getState() == RecordingState.RUNNING;
+        m.put("activa", activa);
+        m.put("configuracion", configuracion);
+        m.put("maxEdad", maxEdad.toString());
+        m.put("maxTamanoBytes", maxBytes);
+        if (activa) {
+            m.put("inicio", grabacion.getStartTime());
+            m.put("tamanoBytes", grabacion.getSize());
+        }
+        return m;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        detener();
+    }
+
+}
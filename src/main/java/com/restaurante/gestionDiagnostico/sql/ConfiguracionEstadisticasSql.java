@@ -0,0 +1,27 @@
+package com.restaurante.gestionDiagnostico.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registra en Hibernate los ganchos de estadísticas SQL por petición.
+ */
+@Configuration
+public class ConfiguracionEstadisticasSql {
+
+    @Bean
+    HibernatePropertiesCustomizer estadisticasSqlHibernate() {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new GanchosHibernate.Inspector());
+            propiedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, GanchosHibernate.TiempoJdbc.class.getName());
+            propiedades.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new GanchosHibernate.EntidadesCargadas()));
+        };
+    }
+
+}
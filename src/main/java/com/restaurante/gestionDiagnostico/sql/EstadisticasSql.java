@@ -0,0 +1,94 @@
+package com.restaurante.gestionDiagnostico.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estadísticas SQL de la petición HTTP en curso (sentencias, tiempo JDBC y entidades cargadas).
+ * Vive en un ThreadLocal entre EstadisticasSqlFilter y los ganchos de Hibernate; fuera de una
+ * petición no hay estadísticas y los ganchos no hacen nada.
+ */
+public final class EstadisticasSql {
+
+    private static final ThreadLocal<EstadisticasSql> ACTUAL = new ThreadLocal<>();
+
+    // Límite de sentencias distintas que se siguen para detectar N+1 (acota la memoria por petición)
+    private static final int MAX_DISTINTAS = 64;
+
+    private int sentencias;
+    private long nanosJdbc;
+    private long entidades;
+    private long inicioEjecucion;
+
+    private final Map<String, Integer> repeticiones = new HashMap<>();
+    private String masRepetida;
+    private int maxRepeticiones;
+
+    private EstadisticasSql() {
+    }
+
+    static EstadisticasSql iniciar() {
+        EstadisticasSql estadisticas = new EstadisticasSql();
+        ACTUAL.set(estadisticas);
+        return estadisticas;
+    }
+
+    static void finalizar() {
+        ACTUAL.remove();
+    }
+
+    static EstadisticasSql actual() {
+        return ACTUAL.get();
+    }
+
+    // La misma sentencia preparada repetida muchas veces en una petición es la firma de un N+1
+    void sentencia(String sql) {
+        sentencias++;
+        Integer veces = repeticiones.get(sql);
+        if (veces == null && repeticiones.size() >= MAX_DISTINTAS) {
+            return;
+        }
+        int nuevas = veces == null ? 1 : veces + 1;
+        repeticiones.put(sql, nuevas);
+        if (nuevas > maxRepeticiones) {
+            maxRepeticiones = nuevas;
+            masRepetida = sql;
+        }
+    }
+
+    void inicioEjecucion() {
+        inicioEjecucion = System.nanoTime();
+    }
+
+    void finEjecucion() {
+        if (inicioEjecucion != 0) {
+            nanosJdbc += System.nanoTime() - inicioEjecucion;
+            inicioEjecucion = 0;
+        }
+    }
+
+    void entidadCargada() {
+        entidades++;
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public long getNanosJdbc() {
+        return nanosJdbc;
+    }
+
+    public long getEntidades() {
+        return entidades;
+    }
+
+    public String getMasRepetida() {
+        return masRepetida;
+    }
+
+    public int getMaxRepeticiones() {
+        return maxRepeticiones;
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.restaurante.gestionDiagnostico.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estadísticas SQL por petición HTTP: cabecera Server-Timing, métricas por endpoint y aviso cuando
+ * la petición supera el presupuesto de sentencias o repite la misma sentencia (N+1).
+ * La cabecera se agrega justo antes de enviar el cuerpo, por lo que no incluye las cargas perezosas
+ * que ocurran mientras se serializa una respuesta grande; las métricas y el aviso sí las cuentan.
+ */
+@Component
+public class EstadisticasSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasSqlFilter.class);
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry registry;
+    private final int presupuestoSentencias;
+    private final int umbralRepeticiones;
+    private final boolean cabecera;
+
+    public EstadisticasSqlFilter(MeterRegistry registry,
+                                 @Value("${app.sql.presupuesto-sentencias:10}") int presupuestoSentencias,
+                                 @Value("${app.sql.umbral-repeticiones:5}") int umbralRepeticiones,
+                                 @Value("${app.sql.server-timing:true}") boolean cabecera) {
+        this.registry = registry;
+        this.presupuestoSentencias = presupuestoSentencias;
+        this.umbralRepeticiones = umbralRepeticiones;
+        this.cabecera = cabecera;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EstadisticasSql estadisticas = EstadisticasSql.iniciar();
+        long inicio = System.nanoTime();
+        RespuestaConTiempos respuesta = new RespuestaConTiempos(response, estadisticas, inicio);
+        try {
+            chain.doFilter(request, cabecera ? respuesta : response);
+        } finally {
+            EstadisticasSql.finalizar();
+            if (cabecera) {
+                respuesta.agregarCabecera();
+            }
+            registrar(request, response.getStatus(), estadisticas);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, int estado, EstadisticasSql estadisticas) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        String metodo = request.getMethod();
+
+        DistributionSummary.builder("http.sql.sentencias")
+                .description("Sentencias SQL por petición")
+                .tags("uri", uri, "method", metodo)
+                .register(registry)
+                .record(estadisticas.getSentencias());
+        Timer.builder("http.sql.tiempo")
+                .description("Tiempo de ejecución JDBC por petición")
+                .tags("uri", uri, "method", metodo)
+                .register(registry)
+                .record(estadisticas.getNanosJdbc(), TimeUnit.NANOSECONDS);
+
+        boolean excedido = estadisticas.getSentencias() > presupuestoSentencias;
+        boolean repetida = estadisticas.getMaxRepeticiones() >= umbralRepeticiones;
+        if (excedido || repetida) {
+            Counter.builder("http.sql.presupuesto.excedido")
+                    .description("Peticiones sobre el presupuesto de sentencias o con una sentencia repetida (N+1)")
+                    .tags("uri", uri, "method", metodo, "motivo", repetida ? "repeticion" : "presupuesto")
+                    .register(registry)
+                    .increment();
+            log.warn("{} {} ({}) ejecutó {} sentencias (presupuesto {}), {} entidades; más repetida {}x: {}",
+                    metodo, uri, estado, estadisticas.getSentencias(), presupuestoSentencias,
+                    estadisticas.getEntidades(), estadisticas.getMaxRepeticiones(), estadisticas.getMasRepetida());
+        }
+    }
+
+    static String serverTiming(EstadisticasSql estadisticas, long inicioNanos) {
+        return String.format(Locale.ROOT, "sql;dur=%.2f;desc=\"%d sentencias, %d entidades\", app;dur=%.2f",
+                estadisticas.getNanosJdbc() / 1e6, estadisticas.getSentencias(), estadisticas.getEntidades(),
+                (System.nanoTime() - inicioNanos) / 1e6);
+    }
+
+    // Agrega Server-Timing en el último momento posible: antes del primer byte del cuerpo o al terminar
+    private static final class RespuestaConTiempos extends HttpServletResponseWrapper {
+        private final EstadisticasSql estadisticas;
+        private final long inicio;
+        private boolean agregada;
+        private ServletOutputStream salida;
+        private PrintWriter escritor;
+
+        RespuestaConTiempos(HttpServletResponse response, EstadisticasSql estadisticas, long inicio) {
+            super(response);
+            this.estadisticas = estadisticas;
+            this.inicio = inicio;
+        }
+
+        void agregarCabecera() {
+            if (!agregada) {
+                agregada = true;
+                if (!isCommitted()) {
+                    setHeader(SERVER_TIMING, serverTiming(estadisticas, inicio));
+                }
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (salida == null) {
+                ServletOutputStream original = super.getOutputStream();
+                salida = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        agregarCabecera();
+                        original.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        agregarCabecera();
+                        original.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        agregarCabecera();
+                        original.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        agregarCabecera();
+                        original.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        original.setWriteListener(listener);
+                    }
+                };
+            }
+            return salida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                PrintWriter original = super.getWriter();
+                escritor = new PrintWriter(new Writer() {
+                    @Override
+                    public void write(char[] cbuf, int off, int len) {
+                        agregarCabecera();
+                        original.write(cbuf, off, len);
+                    }
+
+                    @Override
+                    public void flush() {
+                        agregarCabecera();
+                        original.flush();
+                    }
+
+                    @Override
+                    public void close() {
+                        agregarCabecera();
+                        original.close();
+                    }
+                });
+            }
+            return escritor;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            agregarCabecera();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            agregarCabecera();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            agregarCabecera();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            agregarCabecera();
+            super.sendRedirect(location);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.restaurante.gestionDiagnostico.sql;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Ganchos de Hibernate que alimentan EstadisticasSql de la petición actual.
+ */
+public final class GanchosHibernate {
+
+    private GanchosHibernate() {
+    }
+
+    // Cuenta cada sentencia antes de prepararla (no la modifica)
+    static final class Inspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            EstadisticasSql estadisticas = EstadisticasSql.actual();
+            if (estadisticas != null) {
+                estadisticas.sentencia(sql);
+            }
+            return sql;
+        }
+    }
+
+    // Mide el tiempo de ejecución JDBC; Hibernate crea una instancia por sesión (hibernate.session.events.auto)
+    public static final class TiempoJdbc extends BaseSessionEventListener {
+        @Override
+        public void jdbcExecuteStatementStart() {
+            EstadisticasSql estadisticas = EstadisticasSql.actual();
+            if (estadisticas != null) {
+                estadisticas.inicioEjecucion();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            EstadisticasSql estadisticas = EstadisticasSql.actual();
+            if (estadisticas != null) {
+                estadisticas.finEjecucion();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            jdbcExecuteStatementStart();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            jdbcExecuteStatementEnd();
+        }
+    }
+
+    // Cuenta las entidades hidratadas (filas leídas) registrando un PostLoadEventListener
+    static final class EntidadesCargadas implements Integrator, PostLoadEventListener {
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, this);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            EstadisticasSql estadisticas = EstadisticasSql.actual();
+            if (estadisticas != null) {
+                estadisticas.entidadCargada();
+            }
+        }
+    }
+
+}
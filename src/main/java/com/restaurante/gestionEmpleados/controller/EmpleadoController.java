@@ -1,6 +1,8 @@
 package com.restaurante.gestionEmpleados.controller;
 
+import com.restaurante.gestionEmpleados.model.AsignacionPedido;
 import com.restaurante.gestionEmpleados.model.Empleado;
+import com.restaurante.gestionEmpleados.model.ResultadoManejo;
 import com.restaurante.gestionEmpleados.service.EmpleadoService;
 import com.restaurante.gestionPedidos.model.Pedido;
 import com.restaurante.gestionPedidos.service.PedidoService;
@@ -81,11 +83,22 @@ public class EmpleadoController {
         return ResponseEntity.ok("Pedido #" + idPedido + " manejado por empleado #" + idEmpleado + " (ver logs)");
     }
 
+    // Chain of Responsibility - Manejar varios pedidos por empleado en una llamada:
+    // [{"idEmpleado": 1, "idPedido": 10}, ...] (una consulta de pedidos y una de empleados)
+    @PostMapping("/manejar-pedidos")
+    public List<ResultadoManejo> manejarPedidos(@RequestBody List<AsignacionPedido> asignaciones) {
+        return service.manejarPedidos(asignaciones, pedidoService::buscarPorIds);
+    }
+
     // Buscar empleados por rol
     @GetMapping("/rol/{rol}")
     public List<Empleado> buscarPorRol(@PathVariable String rol) {
         return service.buscarPorRol(rol);
     }
 
-}
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> peticionInvalida(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 
+}
@@ -0,0 +1,34 @@
+package com.restaurante.gestionEmpleados.model;
+
+/**
+ * Pedido a manejar por un empleado, tal como llega en el endpoint por lotes
+ */
+public class AsignacionPedido {
+
+    private Long idEmpleado;
+    private Long idPedido;
+
+    public AsignacionPedido() {}
+
+    public AsignacionPedido(Long idEmpleado, Long idPedido) {
+        this.idEmpleado = idEmpleado;
+        this.idPedido = idPedido;
+    }
+
+    public Long getIdEmpleado() {
+        return idEmpleado;
+    }
+
+    public Long getIdPedido() {
+        return idPedido;
+    }
+
+    public void setIdEmpleado(Long idEmpleado) {
+        this.idEmpleado = idEmpleado;
+    }
+
+    public void setIdPedido(Long idPedido) {
+        this.idPedido = idPedido;
+    }
+
+}
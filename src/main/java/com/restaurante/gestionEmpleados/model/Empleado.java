@@ -1,11 +1,15 @@
 package com.restaurante.gestionEmpleados.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "empleados")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "empleados")
 public class Empleado {
 
     @Id
@@ -0,0 +1,43 @@
+package com.restaurante.gestionEmpleados.model;
+
+/**
+ * Resultado de manejar un pedido con el rol de un empleado (una entrada por asignación del lote)
+ */
+public class ResultadoManejo {
+
+    public enum Estado {
+        MANEJADO,
+        EMPLEADO_NO_ENCONTRADO,
+        PEDIDO_NO_ENCONTRADO,
+        ROL_SIN_MANEJADOR
+    }
+
+    private final Long idEmpleado;
+    private final Long idPedido;
+    private final String rol;
+    private final Estado estado;
+
+    public ResultadoManejo(Long idEmpleado, Long idPedido, String rol, Estado estado) {
+        this.idEmpleado = idEmpleado;
+        this.idPedido = idPedido;
+        this.rol = rol;
+        this.estado = estado;
+    }
+
+    public Long getIdEmpleado() {
+        return idEmpleado;
+    }
+
+    public Long getIdPedido() {
+        return idPedido;
+    }
+
+    public String getRol() {
+        return rol;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+}
@@ -1,13 +1,37 @@
 package com.restaurante.gestionEmpleados.repository;
 
 import com.restaurante.gestionEmpleados.model.Empleado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
 
+    // Resultados en la caché de consultas; Hibernate la invalida con cada escritura en empleados
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-empleados")})
+    List<Empleado> findAll();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-empleados")})
     List<Empleado> findByRol(String rol);
 
-}
+    // Solo el rol (proyección escalar, sin cargar la entidad); cacheado: se consulta en cada despacho
+    @Query("select e.rol from Empleado e where e.id = :id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-empleados")})
+    Optional<String> findRolById(@Param("id") Long id);
 
+    // Roles de varios empleados en una sola consulta: [id, rol]
+    @Query("select e.id, e.rol from Empleado e where e.id in :ids")
+    List<Object[]> findRolesByIds(@Param("ids") Collection<Long> ids);
+
+}
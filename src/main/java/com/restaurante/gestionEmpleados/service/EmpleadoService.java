@@ -1,98 +1,77 @@
 package com.restaurante.gestionEmpleados.service;
 
+import com.restaurante.gestionEmpleados.model.AsignacionPedido;
 import com.restaurante.gestionEmpleados.model.Empleado;
+import com.restaurante.gestionEmpleados.model.ResultadoManejo;
 import com.restaurante.gestionEmpleados.repository.EmpleadoRepository;
 import com.restaurante.gestionPedidos.model.Pedido;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 /**
- * Service refactorizado con patrón Chain of Responsibility integrado directamente
+ * Service refactorizado con patrón Chain of Responsibility integrado directamente.
+ * Los manejadores por rol son beans (ManejadorRol) indexados al arrancar en un mapa inmutable
+ * por rol normalizado: despachar cuesta lo mismo sin importar cuántos roles o manejadores haya.
  */
 @Service
 public class EmpleadoService {
 
     private final EmpleadoRepository repo;
+    private final int maxLote;
     
     // ========== PATRÓN CHAIN OF RESPONSIBILITY ==========
-    // Chain of Responsibility Pattern - Cadena de manejadores por rol de empleado
-    private final ManejadorPedido manejadorPrincipal;
+    // Chain of Responsibility Pattern - Tabla de despacho rol -> manejador (precalculada)
+    private final Map<String, ManejadorRol> manejadores;
 
-    public EmpleadoService(EmpleadoRepository repo) {
+    public EmpleadoService(EmpleadoRepository repo,
+                           List<ManejadorRol> manejadores,
+                           @Value("${app.empleados.max-lote:1000}") int maxLote) {
         this.repo = repo;
-        // Configurar Chain of Responsibility integrado
-        this.manejadorPrincipal = configurarChain();
+        this.maxLote = maxLote;
+        this.manejadores = indexar(manejadores);
     }
 
-    // Chain of Responsibility Pattern - Interfaz base del manejador (Handler abstracto)
-    private abstract static class ManejadorPedido {
-        protected ManejadorPedido siguiente;
-
-        public void establecerSiguiente(ManejadorPedido siguiente) {
-            this.siguiente = siguiente;
-        }
-
-        public abstract void manejar(Pedido pedido, String rol);
-
-        protected void pasarASiguiente(Pedido pedido, String rol) {
-            if (siguiente != null) {
-                siguiente.manejar(pedido, rol);
-            }
-        }
-    }
-
-    // Chain of Responsibility - Manejador concreto: Cocinero
-    private static class ManejadorCocinero extends ManejadorPedido {
-        @Override
-        public void manejar(Pedido pedido, String rol) {
-            if ("COCINERO".equalsIgnoreCase(rol) || "BARISTA".equalsIgnoreCase(rol)) {
-                System.out.println("👨‍🍳 Cocinero: Procesando pedido #" + pedido.getId());
-                System.out.println("   Preparando " + pedido.getDetalles().size() + " item(s)...");
-            } else {
-                pasarASiguiente(pedido, rol);
+    // Un rol solo puede tener un manejador: un duplicado es un error de configuración al arrancar
+    static Map<String, ManejadorRol> indexar(List<ManejadorRol> manejadores) {
+        Map<String, ManejadorRol> porRol = new HashMap<>();
+        for (ManejadorRol manejador : manejadores) {
+            for (String rol : manejador.roles()) {
+                ManejadorRol anterior = porRol.putIfAbsent(normalizar(rol), manejador);
+                if (anterior != null) {
+                    throw new IllegalStateException("El rol " + rol + " tiene dos manejadores: "
+                            + anterior.getClass().getSimpleName() + " y " + manejador.getClass().getSimpleName());
+                }
             }
         }
+        return Map.copyOf(porRol);
     }
 
-    // Chain of Responsibility - Manejador concreto: Mesero
-    private static class ManejadorMesero extends ManejadorPedido {
-        @Override
-        public void manejar(Pedido pedido, String rol) {
-            if ("MESERO".equalsIgnoreCase(rol)) {
-                System.out.println("👤 Mesero: Atendiendo pedido #" + pedido.getId());
-                System.out.println("   Cliente: " + pedido.getNombreCliente());
-                System.out.println("   Total: $" + pedido.getTotal());
-            } else {
-                pasarASiguiente(pedido, rol);
-            }
-        }
+    static String normalizar(String rol) {
+        return rol.trim().toUpperCase(Locale.ROOT);
     }
 
-    // Chain of Responsibility - Manejador concreto: Admin (fallback)
-    private static class ManejadorAdmin extends ManejadorPedido {
-        @Override
-        public void manejar(Pedido pedido, String rol) {
-            if ("ADMIN".equalsIgnoreCase(rol)) {
-                System.out.println("👔 Admin: Revisando pedido #" + pedido.getId());
-            } else {
-                System.out.println("⚠️ Rol '" + rol + "' no tiene manejador asignado");
-            }
+    // Búsqueda directa primero (el rol casi siempre llega ya normalizado, sin copiar el texto)
+    private ManejadorRol manejadorPara(String rol) {
+        if (rol == null) {
+            return null;
         }
+        ManejadorRol manejador = manejadores.get(rol);
+        return manejador != null ? manejador : manejadores.get(normalizar(rol));
     }
 
-    private ManejadorPedido configurarChain() {
-        ManejadorCocinero cocinero = new ManejadorCocinero();
-        ManejadorMesero mesero = new ManejadorMesero();
-        ManejadorAdmin admin = new ManejadorAdmin();
-        
-        cocinero.establecerSiguiente(mesero);
-        mesero.establecerSiguiente(admin);
-        
-        return cocinero;
-    }
-
+    @Transactional(readOnly = true)
     public List<Empleado> listarTodos() {
         return repo.findAll();
     }
@@ -103,16 +82,67 @@ public class EmpleadoService {
 
     // Chain of Responsibility Pattern - Manejar pedido según rol del empleado
     public void manejarPedidoPorRol(Pedido pedido, String rol) {
-        manejadorPrincipal.manejar(pedido, rol);
+        ManejadorRol manejador = manejadorPara(rol);
+        if (manejador == null) {
+            throw new IllegalArgumentException("Rol '" + rol + "' no tiene manejador asignado");
+        }
+        manejador.manejar(pedido, rol);
     }
 
-    // Chain of Responsibility Pattern - Manejar pedido usando ID de empleado
+    // Chain of Responsibility Pattern - Manejar pedido usando ID de empleado (solo se lee el rol)
     public void manejarPedidoPorEmpleado(Long idEmpleado, Pedido pedido) {
-        Empleado empleado = repo.findById(idEmpleado)
+        String rol = repo.findRolById(idEmpleado)
                 .orElseThrow(() -> new RuntimeException("Empleado no encontrado"));
-        manejadorPrincipal.manejar(pedido, empleado.getRol());
+        manejarPedidoPorRol(pedido, rol);
+    }
+
+    // Chain of Responsibility Pattern - Manejar muchos pedidos con una sola lectura de empleados;
+    // cada asignación informa su resultado en lugar de cortar el lote
+    public List<ResultadoManejo> manejarPedidos(List<AsignacionPedido> asignaciones,
+                                                Function<Collection<Long>, Map<Long, Pedido>> buscarPedidos) {
+        if (asignaciones.size() > maxLote) {
+            throw new IllegalArgumentException("El lote no puede superar " + maxLote + " asignaciones");
+        }
+        Set<Long> idsEmpleado = new TreeSet<>();
+        Set<Long> idsPedido = new TreeSet<>();
+        for (AsignacionPedido a : asignaciones) {
+            if (a.getIdEmpleado() == null || a.getIdPedido() == null) {
+                throw new IllegalArgumentException("Cada asignación requiere idEmpleado e idPedido");
+            }
+            idsEmpleado.add(a.getIdEmpleado());
+            idsPedido.add(a.getIdPedido());
+        }
+        if (asignaciones.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> roles = new HashMap<>();
+        for (Object[] fila : repo.findRolesByIds(idsEmpleado)) {
+            roles.put((Long) fila[0], (String) fila[1]);
+        }
+        Map<Long, Pedido> pedidos = buscarPedidos.apply(idsPedido);
+
+        List<ResultadoManejo> resultados = new ArrayList<>(asignaciones.size());
+        for (AsignacionPedido a : asignaciones) {
+            String rol = roles.get(a.getIdEmpleado());
+            Pedido pedido = pedidos.get(a.getIdPedido());
+            ResultadoManejo.Estado estado;
+            ManejadorRol manejador;
+            if (rol == null) {
+                estado = ResultadoManejo.Estado.EMPLEADO_NO_ENCONTRADO;
+            } else if (pedido == null) {
+                estado = ResultadoManejo.Estado.PEDIDO_NO_ENCONTRADO;
+            } else if ((manejador = manejadorPara(rol)) == null) {
+                estado = ResultadoManejo.Estado.ROL_SIN_MANEJADOR;
+            } else {
+                manejador.manejar(pedido, rol);
+                estado = ResultadoManejo.Estado.MANEJADO;
+            }
+            resultados.add(new ResultadoManejo(a.getIdEmpleado(), a.getIdPedido(), rol, estado));
+        }
+        return resultados;
     }
 
+    @Transactional(readOnly = true)
     public List<Empleado> buscarPorRol(String rol) {
         return repo.findByRol(rol);
     }
@@ -0,0 +1,26 @@
+package com.restaurante.gestionEmpleados.service;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Chain of Responsibility - Manejador concreto: Admin
+@Component
+public class ManejadorAdmin implements ManejadorRol {
+
+    private static final Logger log = LoggerFactory.getLogger(ManejadorAdmin.class);
+
+    @Override
+    public Set<String> roles() {
+        return Set.of("ADMIN");
+    }
+
+    @Override
+    public void manejar(Pedido pedido, String rol) {
+        log.info("👔 Admin: Revisando pedido #{}", pedido.getId());
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.restaurante.gestionEmpleados.service;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Chain of Responsibility - Manejador concreto: Cocinero (también barra)
+@Component
+public class ManejadorCocinero implements ManejadorRol {
+
+    private static final Logger log = LoggerFactory.getLogger(ManejadorCocinero.class);
+
+    @Override
+    public Set<String> roles() {
+        return Set.of("COCINERO", "BARISTA");
+    }
+
+    @Override
+    public void manejar(Pedido pedido, String rol) {
+        // Contador de líneas mantenido en el pedido: no se cargan los detalles
+        log.info("👨‍🍳 Cocinero: Procesando pedido #{} - preparando {} item(s)...",
+                pedido.getId(), pedido.getCantidadLineas());
+    }
+
+}
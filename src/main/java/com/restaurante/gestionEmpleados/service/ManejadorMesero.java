@@ -0,0 +1,27 @@
+package com.restaurante.gestionEmpleados.service;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Chain of Responsibility - Manejador concreto: Mesero
+@Component
+public class ManejadorMesero implements ManejadorRol {
+
+    private static final Logger log = LoggerFactory.getLogger(ManejadorMesero.class);
+
+    @Override
+    public Set<String> roles() {
+        return Set.of("MESERO");
+    }
+
+    @Override
+    public void manejar(Pedido pedido, String rol) {
+        log.info("👤 Mesero: Atendiendo pedido #{} - cliente: {}, total: ${}",
+                pedido.getId(), pedido.getNombreCliente(), pedido.getTotal());
+    }
+
+}
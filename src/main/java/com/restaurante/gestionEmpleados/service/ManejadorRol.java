@@ -0,0 +1,19 @@
+package com.restaurante.gestionEmpleados.service;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+
+import java.util.Set;
+
+/**
+ * Chain of Responsibility Pattern - Manejador de pedidos para uno o varios roles de empleado.
+ * Cada implementación es un bean; EmpleadoService las indexa por rol una sola vez al arrancar,
+ * así que agregar un rol nuevo es agregar un bean (el despacho sigue siendo una búsqueda en un mapa).
+ */
+public interface ManejadorRol {
+
+    // Roles que atiende (sin distinguir mayúsculas ni espacios alrededor)
+    Set<String> roles();
+
+    void manejar(Pedido pedido, String rol);
+
+}
@@ -1,20 +1,31 @@
 package com.restaurante.gestionInventario.controller;
 
 import com.restaurante.gestionInventario.model.InventarioItem;
+import com.restaurante.gestionInventario.model.ItemReceta;
+import com.restaurante.gestionInventario.model.ItemStock;
 import com.restaurante.gestionInventario.service.InventarioService;
+import com.restaurante.gestionInventario.service.StockStreamService;
+import com.restaurante.gestionInventario.service.StockInsuficienteException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/inventario")
 public class InventarioController {
 
     private final InventarioService service;
+    private final StockStreamService streamService;
 
-    public InventarioController(InventarioService service) {
+    public InventarioController(InventarioService service, StockStreamService streamService) {
         this.service = service;
+        this.streamService = streamService;
     }
 
     @GetMapping
@@ -42,6 +53,19 @@ public class InventarioController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Ajuste atómico de stock: {"cantidad": 20} para una entrada, {"cantidad": -3} para una merma
+    @PostMapping("/{id}/ajuste")
+    public ResponseEntity<InventarioItem> ajustar(@PathVariable Long id,
+                                                  @RequestBody Map<String, Integer> body) {
+        Integer cantidad = body.get("cantidad");
+        if (cantidad == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return service.ajustarStock(id, cantidad)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> eliminar(@PathVariable Long id) {
         service.eliminar(id);
@@ -49,9 +73,47 @@ public class InventarioController {
     }
 
     @GetMapping("/bajo-stock")
-    public List<InventarioItem> bajoStock() {
+    public List<ItemStock> bajoStock() {
         return service.bajoStock();
     }
 
-}
+    // Observer - Stream SSE de bajo stock: SNAPSHOT inicial y luego BAJO_STOCK / REPUESTO / ELIMINADO
+    @GetMapping(path = "/bajo-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBajoStock() {
+        try {
+            return ResponseEntity.ok(streamService.conectar());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Recetas (lista de materiales) por producto
+    @GetMapping("/recetas/{idProducto}")
+    public List<ItemReceta> receta(@PathVariable Long idProducto) {
+        return service.receta(idProducto);
+    }
 
+    // Reemplaza la receta: [{"idInsumo": 1, "cantidad": 2}, ...]
+    @PutMapping("/recetas/{idProducto}")
+    public List<ItemReceta> definirReceta(@PathVariable Long idProducto,
+                                          @RequestBody List<ItemReceta> items) {
+        return service.definirReceta(idProducto, items);
+    }
+
+    @ExceptionHandler(StockInsuficienteException.class)
+    public ResponseEntity<String> stockInsuficiente(StockInsuficienteException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> conflicto(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("El insumo fue modificado concurrentemente, intente de nuevo");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> peticionInvalida(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+}
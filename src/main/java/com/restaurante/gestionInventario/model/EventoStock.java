@@ -0,0 +1,44 @@
+package com.restaurante.gestionInventario.model;
+
+import java.time.Instant;
+
+/**
+ * Observer Pattern - Evento inmutable de cruce del stock mínimo de un insumo
+ */
+public final class EventoStock {
+
+    public enum Tipo {
+        BAJO_STOCK,     // el insumo llegó a su stock mínimo o por debajo
+        REPUESTO,       // el insumo volvió a estar por encima de su mínimo
+        ELIMINADO       // el insumo estaba bajo stock y se eliminó del inventario
+    }
+
+    private final long secuencia;
+    private final Tipo tipo;
+    private final ItemStock item;
+    private final Instant instante;
+
+    public EventoStock(long secuencia, Tipo tipo, ItemStock item) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.item = item;
+        this.instante = Instant.now();
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public ItemStock getItem() {
+        return item;
+    }
+
+    public Instant getInstante() {
+        return instante;
+    }
+
+}
@@ -1,20 +1,33 @@
 package com.restaurante.gestionInventario.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "inventario")
+// Los descuentos de stock por JDBC no pasan por Hibernate: InventarioService expulsa esas filas de la caché
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "inventario")
 public class InventarioItem {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Los descuentos por receta también incrementan la versión: un PUT concurrente no pisa el stock
+    @Version
+    private long version;
+
     private String nombreInsumo;
     private String unidad;        // kg, unidades, litros, etc.
     private int stockActual;
     private int stockMinimo;
 
+    // Columna generada por la base de datos (V9); solo se usa para la consulta indexada de arranque
+    @Column(name = "bajo_stock", insertable = false, updatable = false)
+    private Boolean bajoStockIndexado;
+
     public InventarioItem() {}
 
     public InventarioItem(Long id, String nombreInsumo, String unidad,
@@ -30,6 +43,10 @@ public class InventarioItem {
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getNombreInsumo() {
         return nombreInsumo;
     }
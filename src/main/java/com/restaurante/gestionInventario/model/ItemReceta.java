@@ -0,0 +1,34 @@
+package com.restaurante.gestionInventario.model;
+
+/**
+ * Insumo y cantidad de una receta tal como se recibe y devuelve en la API.
+ */
+public class ItemReceta {
+
+    private Long idInsumo;
+    private int cantidad;
+
+    public ItemReceta() {}
+
+    public ItemReceta(Long idInsumo, int cantidad) {
+        this.idInsumo = idInsumo;
+        this.cantidad = cantidad;
+    }
+
+    public Long getIdInsumo() {
+        return idInsumo;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public void setIdInsumo(Long idInsumo) {
+        this.idInsumo = idInsumo;
+    }
+
+    public void setCantidad(int cantidad) {
+        this.cantidad = cantidad;
+    }
+
+}
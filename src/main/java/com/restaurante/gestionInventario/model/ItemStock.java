@@ -0,0 +1,62 @@
+package com.restaurante.gestionInventario.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Foto inmutable del stock de un insumo, tal como la guarda el vigilante de bajo stock.
+ * La versión es la de la fila (@Version) y sirve para descartar fotos más antiguas.
+ */
+public final class ItemStock {
+
+    private final Long id;
+    private final String nombreInsumo;
+    private final String unidad;
+    private final int stockActual;
+    private final int stockMinimo;
+    private final long version;
+
+    public ItemStock(Long id, String nombreInsumo, String unidad,
+                     int stockActual, int stockMinimo, long version) {
+        this.id = id;
+        this.nombreInsumo = nombreInsumo;
+        this.unidad = unidad;
+        this.stockActual = stockActual;
+        this.stockMinimo = stockMinimo;
+        this.version = version;
+    }
+
+    public static ItemStock de(InventarioItem item) {
+        return new ItemStock(item.getId(), item.getNombreInsumo(), item.getUnidad(),
+                item.getStockActual(), item.getStockMinimo(), item.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombreInsumo() {
+        return nombreInsumo;
+    }
+
+    public String getUnidad() {
+        return unidad;
+    }
+
+    public int getStockActual() {
+        return stockActual;
+    }
+
+    public int getStockMinimo() {
+        return stockMinimo;
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isBajoStock() {
+        return stockActual <= stockMinimo;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.restaurante.gestionInventario.model;
+
+import com.restaurante.gestionProductos.model.Producto;
+import jakarta.persistence.*;
+
+/**
+ * Línea de receta (lista de materiales): cuánto de un insumo consume una unidad de un producto.
+ */
+@Entity
+@Table(name = "recetas", uniqueConstraints =
+        @UniqueConstraint(name = "uk_receta_producto_insumo", columnNames = {"producto_id", "insumo_id"}))
+public class RecetaItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "producto_id")
+    private Producto producto;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "insumo_id")
+    private InventarioItem insumo;
+
+    // Unidades del insumo (en su propia unidad) por cada unidad del producto
+    private int cantidad;
+
+    public RecetaItem() {}
+
+    public RecetaItem(Producto producto, InventarioItem insumo, int cantidad) {
+        this.producto = producto;
+        this.insumo = insumo;
+        this.cantidad = cantidad;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Producto getProducto() {
+        return producto;
+    }
+
+    public InventarioItem getInsumo() {
+        return insumo;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+}
@@ -1,13 +1,24 @@
 package com.restaurante.gestionInventario.repository;
 
 import com.restaurante.gestionInventario.model.InventarioItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
-public interface InventarioRepository extends JpaRepository<InventarioItem, Long> {
+public interface InventarioRepository extends JpaRepository<InventarioItem, Long>,
+        InventarioRepositoryCustom {
 
-    List<InventarioItem> findByStockActualLessThanEqual(int stock);
+    // Solo ids en la caché de consultas: los descuentos por JDBC cambian el stock, no qué filas hay,
+    // y las filas se leen de la región de entidades (expulsadas tras cada descuento)
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-inventario")})
+    List<InventarioItem> findAll();
 
-}
+    // Insumos en o bajo su propio stock mínimo, resuelto con el índice sobre la columna generada
+    List<InventarioItem> findByBajoStockIndexadoTrue();
 
+}
@@ -0,0 +1,20 @@
+package com.restaurante.gestionInventario.repository;
+
+import com.restaurante.gestionInventario.model.ItemStock;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+
+public interface InventarioRepositoryCustom {
+
+    // Descuento condicional en lote (stock_actual >= cantidad); devuelve los insumos sin stock suficiente
+    List<Long> descontar(SortedMap<Long, Integer> cantidadesPorInsumo);
+
+    // Ajuste atómico de stock (positivo o negativo) sin dejarlo bajo cero; false si no se aplicó
+    boolean ajustar(Long idInsumo, int delta);
+
+    // Stock y versión actuales de los insumos indicados (dentro de la transacción ve sus propios cambios)
+    List<ItemStock> leerStock(Collection<Long> idsInsumo);
+
+}
@@ -0,0 +1,83 @@
+package com.restaurante.gestionInventario.repository;
+
+import com.restaurante.gestionInventario.model.ItemStock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+public class InventarioRepositoryCustomImpl implements InventarioRepositoryCustom {
+
+    // Lectura y escritura en una sola sentencia: dos pedidos concurrentes nunca ven el mismo stock
+    private static final String DESCONTAR_SQL =
+            "UPDATE inventario SET stock_actual = stock_actual - ?, version = version + 1 " +
+            "WHERE id = ? AND stock_actual >= ?";
+
+    private static final String AJUSTAR_SQL =
+            "UPDATE inventario SET stock_actual = stock_actual + ?, version = version + 1 " +
+            "WHERE id = ? AND stock_actual + ? >= 0";
+
+    private static final String LEER_STOCK_SQL =
+            "SELECT id, nombre_insumo, unidad, stock_actual, stock_minimo, version " +
+            "FROM inventario WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate jdbcNombrado;
+
+    public InventarioRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.jdbcNombrado = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    @Override
+    public List<Long> descontar(SortedMap<Long, Integer> cantidadesPorInsumo) {
+        // Orden por id: todas las transacciones bloquean las filas en el mismo orden (sin interbloqueos)
+        List<Map.Entry<Long, Integer>> lote = new ArrayList<>(cantidadesPorInsumo.entrySet());
+        int[][] resultados = jdbc.batchUpdate(DESCONTAR_SQL, lote, lote.size(), (ps, e) -> {
+            ps.setInt(1, e.getValue());
+            ps.setLong(2, e.getKey());
+            ps.setInt(3, e.getValue());
+        });
+
+        List<Long> insuficientes = new ArrayList<>();
+        int i = 0;
+        for (int[] parcial : resultados) {
+            for (int filas : parcial) {
+                if (filas == Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException(
+                            "El driver JDBC no informa filas por sentencia del lote (desactivar useBulkStmts)");
+                }
+                if (filas == 0) {
+                    insuficientes.add(lote.get(i).getKey());
+                }
+                i++;
+            }
+        }
+        return insuficientes;
+    }
+
+    @Override
+    public boolean ajustar(Long idInsumo, int delta) {
+        return jdbc.update(AJUSTAR_SQL, delta, idInsumo, delta) == 1;
+    }
+
+    @Override
+    public List<ItemStock> leerStock(Collection<Long> idsInsumo) {
+        if (idsInsumo.isEmpty()) {
+            return List.of();
+        }
+        return jdbcNombrado.query(LEER_STOCK_SQL, Map.of("ids", idsInsumo), (rs, fila) -> new ItemStock(
+                rs.getLong("id"),
+                rs.getString("nombre_insumo"),
+                rs.getString("unidad"),
+                rs.getInt("stock_actual"),
+                rs.getInt("stock_minimo"),
+                rs.getLong("version")));
+    }
+
+}
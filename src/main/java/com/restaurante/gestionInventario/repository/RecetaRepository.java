@@ -0,0 +1,27 @@
+package com.restaurante.gestionInventario.repository;
+
+import com.restaurante.gestionInventario.model.ItemReceta;
+import com.restaurante.gestionInventario.model.RecetaItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RecetaRepository extends JpaRepository<RecetaItem, Long> {
+
+    // Proyección [idProducto, idInsumo, cantidad] sin cargar entidades (solo columnas de recetas)
+    @Query("select r.producto.id, r.insumo.id, r.cantidad from RecetaItem r where r.producto.id in :ids")
+    List<Object[]> findCantidadesPorProductos(@Param("ids") Collection<Long> idsProducto);
+
+    @Query("select new com.restaurante.gestionInventario.model.ItemReceta(r.insumo.id, r.cantidad) " +
+           "from RecetaItem r where r.producto.id = :idProducto order by r.insumo.id")
+    List<ItemReceta> findItemsPorProducto(@Param("idProducto") Long idProducto);
+
+    @Modifying
+    @Query("delete from RecetaItem r where r.producto.id = :idProducto")
+    int eliminarPorProducto(@Param("idProducto") Long idProducto);
+
+}
@@ -1,21 +1,50 @@
 package com.restaurante.gestionInventario.service;
 
+import com.restaurante.config.cache.InvalidacionCache;
 import com.restaurante.gestionInventario.model.InventarioItem;
+import com.restaurante.gestionInventario.model.ItemReceta;
+import com.restaurante.gestionInventario.model.ItemStock;
+import com.restaurante.gestionInventario.model.RecetaItem;
 import com.restaurante.gestionInventario.repository.InventarioRepository;
+import com.restaurante.gestionInventario.repository.RecetaRepository;
+import com.restaurante.gestionProductos.model.Producto;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @Service
 public class InventarioService {
 
+    // Lectura directa de la base sin tocar la caché de segundo nivel (estado aún sin confirmar)
+    private static final Map<String, Object> SIN_CACHE = Map.of(
+            "jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS,
+            "jakarta.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+
     private final InventarioRepository repo;
+    private final RecetaRepository recetaRepo;
+    private final VigilanteStock vigilante;
+    private final InvalidacionCache invalidacion;
+    private final EntityManager entityManager;
 
-    public InventarioService(InventarioRepository repo) {
+    public InventarioService(InventarioRepository repo, RecetaRepository recetaRepo,
+                             VigilanteStock vigilante, InvalidacionCache invalidacion,
+                             EntityManager entityManager) {
         this.repo = repo;
+        this.recetaRepo = recetaRepo;
+        this.vigilante = vigilante;
+        this.invalidacion = invalidacion;
+        this.entityManager = entityManager;
     }
 
+    @Transactional(readOnly = true)
     public List<InventarioItem> listarTodos() {
         return repo.findAll();
     }
@@ -26,7 +55,9 @@ public class InventarioService {
 
     public InventarioItem crear(InventarioItem i) {
         i.setId(null);
-        return repo.save(i);
+        InventarioItem creado = repo.save(i);
+        vigilante.registrar(ItemStock.de(creado));
+        return creado;
     }
 
     public Optional<InventarioItem> actualizar(Long id, InventarioItem datos) {
@@ -35,17 +66,92 @@ public class InventarioService {
             i.setUnidad(datos.getUnidad());
             i.setStockActual(datos.getStockActual());
             i.setStockMinimo(datos.getStockMinimo());
-            return repo.save(i);
+            InventarioItem guardado = repo.save(i);
+            vigilante.registrar(ItemStock.de(guardado));
+            return guardado;
         });
     }
 
+    // Ajuste atómico (entradas de mercancía, mermas): no se pierde frente a descuentos concurrentes
+    @Transactional
+    public Optional<InventarioItem> ajustarStock(Long id, int delta) {
+        if (!repo.existsById(id)) {
+            return Optional.empty();
+        }
+        if (!repo.ajustar(id, delta)) {
+            throw new StockInsuficienteException(List.of(id));
+        }
+        invalidacion.expulsarAlTerminar(InventarioItem.class, List.of(id));
+        Optional<InventarioItem> ajustado = Optional.ofNullable(entityManager.find(InventarioItem.class, id, SIN_CACHE));
+        ajustado.ifPresent(i -> vigilante.registrar(ItemStock.de(i)));
+        return ajustado;
+    }
+
     public void eliminar(Long id) {
         repo.deleteById(id);
+        vigilante.eliminado(id);
     }
 
-    public List<InventarioItem> bajoStock() {
-        return repo.findByStockActualLessThanEqual(5); // umbral simple
+    // Insumos en o bajo su propio stock mínimo, desde la memoria del vigilante (sin consultar la tabla)
+    public List<ItemStock> bajoStock() {
+        return vigilante.bajoStock();
     }
 
-}
+    // ========== RECETAS ==========
+    @Transactional(readOnly = true)
+    public List<ItemReceta> receta(Long idProducto) {
+        return recetaRepo.findItemsPorProducto(idProducto);
+    }
+
+    // Reemplazar la receta completa de un producto
+    @Transactional
+    public List<ItemReceta> definirReceta(Long idProducto, List<ItemReceta> items) {
+        Map<Long, Integer> cantidades = new TreeMap<>();
+        for (ItemReceta item : items) {
+            if (item.getIdInsumo() == null || item.getCantidad() <= 0) {
+                throw new IllegalArgumentException("Cada insumo requiere idInsumo y una cantidad positiva");
+            }
+            if (!repo.existsById(item.getIdInsumo())) {
+                throw new IllegalArgumentException("Insumo no encontrado: " + item.getIdInsumo());
+            }
+            cantidades.merge(item.getIdInsumo(), item.getCantidad(), Integer::sum);
+        }
 
+        Producto producto = entityManager.find(Producto.class, idProducto);
+        if (producto == null) {
+            throw new IllegalArgumentException("Producto no encontrado: " + idProducto);
+        }
+        recetaRepo.eliminarPorProducto(idProducto);
+        cantidades.forEach((idInsumo, cantidad) -> recetaRepo.save(
+                new RecetaItem(producto, entityManager.getReference(InventarioItem.class, idInsumo), cantidad)));
+        return receta(idProducto);
+    }
+
+    // Descontar los insumos de un pedido enviado a cocina: una consulta de recetas y un lote de
+    // UPDATE condicionales (stock_actual >= cantidad). Si falta algún insumo se revierte todo el pedido.
+    @Transactional
+    public void descontarPorProductos(Map<Long, Integer> cantidadesPorProducto) {
+        if (cantidadesPorProducto.isEmpty()) {
+            return;
+        }
+        SortedMap<Long, Integer> porInsumo = new TreeMap<>();
+        for (Object[] fila : recetaRepo.findCantidadesPorProductos(cantidadesPorProducto.keySet())) {
+            Long idProducto = (Long) fila[0];
+            Long idInsumo = (Long) fila[1];
+            int porUnidad = (Integer) fila[2];
+            porInsumo.merge(idInsumo, Math.multiplyExact(porUnidad, cantidadesPorProducto.get(idProducto)),
+                    Math::addExact);
+        }
+        if (porInsumo.isEmpty()) {
+            return;
+        }
+        List<Long> insuficientes = repo.descontar(porInsumo);
+        if (!insuficientes.isEmpty()) {
+            throw new StockInsuficienteException(insuficientes);
+        }
+        invalidacion.expulsarAlTerminar(InventarioItem.class, porInsumo.keySet());
+        // Releer solo las filas descontadas; el vigilante las aplica cuando la transacción se confirma
+        vigilante.registrar(repo.leerStock(porInsumo.keySet()));
+    }
+
+}
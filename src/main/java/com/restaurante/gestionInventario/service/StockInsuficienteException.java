@@ -0,0 +1,21 @@
+package com.restaurante.gestionInventario.service;
+
+import java.util.List;
+
+/**
+ * No hay stock suficiente de uno o más insumos para preparar un pedido.
+ */
+public class StockInsuficienteException extends RuntimeException {
+
+    private final List<Long> insumos;
+
+    public StockInsuficienteException(List<Long> insumos) {
+        super("Stock insuficiente de los insumos: " + insumos);
+        this.insumos = List.copyOf(insumos);
+    }
+
+    public List<Long> getInsumos() {
+        return insumos;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.restaurante.gestionInventario.service;
+
+import com.restaurante.config.sse.ConexionSse;
+import com.restaurante.config.sse.GrupoConexionesSse;
+import com.restaurante.gestionInventario.model.EventoStock;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Observer Pattern - Stream SSE de bajo stock para tableros.
+ * Al conectar se envía la lista actual (evento SNAPSHOT) y después solo los cruces del mínimo;
+ * el tablero nunca consulta la tabla de inventario.
+ * El vigilante solo encola: cada conexión tiene su cola acotada y la vacía el grupo de hilos de
+ * envío (GrupoConexionesSse); un tablero que no la vacía a tiempo se desconecta y al reconectar
+ * recibe un SNAPSHOT nuevo.
+ */
+@Service
+public class StockStreamService {
+
+    private final VigilanteStock vigilante;
+    private final GrupoConexionesSse<ConexionSse> conexiones;
+
+    public StockStreamService(VigilanteStock vigilante,
+                              @Value("${app.stream.max-conexiones:5000}") int maxConexiones,
+                              @Value("${app.stream.cola-por-conexion:1000}") int colaPorConexion,
+                              @Value("${app.stream.hilos-envio:4}") int hilosEnvio,
+                              @Value("${app.stream.latido-segundos:20}") long latidoSegundos) {
+        this.vigilante = vigilante;
+        // El SNAPSHOT ocupa un solo lugar en la cola
+        this.conexiones = new GrupoConexionesSse<>("inventario-stream", maxConexiones,
+                Math.max(colaPorConexion, 1) + 1, hilosEnvio, latidoSegundos);
+        vigilante.suscribir(this::difundir);
+    }
+
+    public SseEmitter conectar() {
+        ConexionSse conexion = conexiones.abrir(id -> new ConexionSse(conexiones, id));
+        // Registrar antes de la foto inicial: un cruce concurrente se encola después del SNAPSHOT, no se pierde
+        synchronized (conexion) {
+            conexion.encolar(SseEmitter.event().name("SNAPSHOT")
+                    .data(vigilante.bajoStock(), MediaType.APPLICATION_JSON));
+        }
+        return conexion.getEmitter();
+    }
+
+    public int conexionesActivas() {
+        return conexiones.activas();
+    }
+
+    // Observer Pattern - Suscriptor del vigilante: encola el cruce en todas las conexiones
+    private void difundir(EventoStock evento) {
+        for (ConexionSse conexion : conexiones.conexiones()) {
+            synchronized (conexion) {
+                conexion.encolar(SseEmitter.event()
+                        .id(String.valueOf(evento.getSecuencia()))
+                        .name(evento.getTipo().name())
+                        .data(evento, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        conexiones.cerrar();
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.restaurante.gestionInventario.service;
+
+import com.restaurante.gestionInventario.model.EventoStock;
+import com.restaurante.gestionInventario.model.ItemStock;
+import com.restaurante.gestionInventario.repository.InventarioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Observer Pattern - Vigilante de bajo stock.
+ * Mantiene en memoria los insumos en o bajo su propio stock mínimo y lo actualiza con cada cambio
+ * de stock confirmado, sin volver a consultar la tabla. En frío se carga con la consulta indexada
+ * sobre la columna generada bajo_stock. Los cruces del mínimo se publican a los suscriptores.
+ */
+@Component
+public class VigilanteStock {
+
+    private static final Logger log = LoggerFactory.getLogger(VigilanteStock.class);
+
+    // Versión de las marcas de insumo eliminado: ninguna foto posterior lo vuelve a agregar
+    private static final long ELIMINADO = Long.MAX_VALUE;
+
+    private final InventarioRepository repo;
+
+    // Última foto aplicada por insumo (descarta fotos con versión anterior que lleguen tarde)
+    private final Map<Long, ItemStock> ultimas = new ConcurrentHashMap<>();
+    private final Map<Long, ItemStock> bajos = new ConcurrentHashMap<>();
+
+    private final List<Consumer<EventoStock>> suscriptores = new CopyOnWriteArrayList<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    // Un solo hilo: los eventos de un mismo insumo llegan en orden y nunca bloquean al commit
+    private final ExecutorService despachador;
+
+    private volatile boolean cargado;
+
+    public VigilanteStock(InventarioRepository repo, MeterRegistry registry) {
+        this.repo = repo;
+        this.despachador = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "inventario-vigilante");
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("inventario.bajo.stock", bajos, Map::size)
+                .description("Insumos en o bajo su stock mínimo")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        cargar();
+    }
+
+    public List<ItemStock> bajoStock() {
+        if (!cargado) {
+            cargar();
+        }
+        return bajos.values().stream()
+                .sorted(Comparator.comparing(ItemStock::getId))
+                .toList();
+    }
+
+    public void suscribir(Consumer<EventoStock> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+
+    public void desuscribir(Consumer<EventoStock> suscriptor) {
+        suscriptores.remove(suscriptor);
+    }
+
+    // Registrar el stock tras un cambio; dentro de una transacción se aplica solo si se confirma
+    public void registrar(ItemStock foto) {
+        despuesDeConfirmar(() -> aplicar(foto, true));
+    }
+
+    public void registrar(Collection<ItemStock> fotos) {
+        if (!fotos.isEmpty()) {
+            despuesDeConfirmar(() -> fotos.forEach(f -> aplicar(f, true)));
+        }
+    }
+
+    public void eliminado(Long idInsumo) {
+        despuesDeConfirmar(() -> aplicar(new ItemStock(idInsumo, null, null, 0, 0, ELIMINADO), true));
+    }
+
+    // Carga en frío: solo las filas con bajo_stock = true, resueltas por el índice
+    private synchronized void cargar() {
+        if (cargado) {
+            return;
+        }
+        repo.findByBajoStockIndexadoTrue().forEach(i -> aplicar(ItemStock.de(i), false));
+        cargado = true;
+        log.info("Vigilante de stock cargado: {} insumos bajo su mínimo", bajos.size());
+    }
+
+    private void despuesDeConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    // Aplicar una foto si es más reciente que la conocida y publicar el cruce del mínimo, si lo hubo.
+    // Todo ocurre dentro de compute: las fotos de un mismo insumo se aplican y publican en orden.
+    private void aplicar(ItemStock foto, boolean notificar) {
+        ultimas.compute(foto.getId(), (id, anterior) -> {
+            if (anterior != null && anterior.getVersion() >= foto.getVersion()) {
+                return anterior;
+            }
+            EventoStock evento = null;
+            if (foto.getVersion() == ELIMINADO) {
+                ItemStock estabaBajo = bajos.remove(id);
+                if (estabaBajo != null) {
+                    evento = new EventoStock(secuencia.incrementAndGet(), EventoStock.Tipo.ELIMINADO, estabaBajo);
+                }
+            } else if (foto.isBajoStock()) {
+                if (bajos.put(id, foto) == null) {
+                    evento = new EventoStock(secuencia.incrementAndGet(), EventoStock.Tipo.BAJO_STOCK, foto);
+                }
+            } else if (bajos.remove(id) != null) {
+                evento = new EventoStock(secuencia.incrementAndGet(), EventoStock.Tipo.REPUESTO, foto);
+            }
+            if (notificar && evento != null) {
+                publicar(evento);
+            }
+            return foto;
+        });
+    }
+
+    private void publicar(EventoStock evento) {
+        despachador.execute(() -> {
+            for (Consumer<EventoStock> suscriptor : suscriptores) {
+                try {
+                    suscriptor.accept(evento);
+                } catch (RuntimeException e) {
+                    log.warn("Suscriptor de stock falló con el evento #{}", evento.getSecuencia(), e);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        despachador.shutdown();
+    }
+
+}
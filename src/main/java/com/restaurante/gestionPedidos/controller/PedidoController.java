@@ -1,11 +1,29 @@
 package com.restaurante.gestionPedidos.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.restaurante.gestionInventario.service.StockInsuficienteException;
+import com.restaurante.gestionPedidos.model.HistorialPedido;
+import com.restaurante.gestionPedidos.model.ItemPedido;
+import com.restaurante.gestionPedidos.model.PaginaPedidos;
 import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.model.PedidoResumen;
 import com.restaurante.gestionPedidos.service.PedidoService;
+import com.restaurante.gestionPedidos.service.PedidoStreamService;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -15,20 +33,26 @@ import java.util.Map;
 public class PedidoController {
 
     private final PedidoService service;
+    private final PedidoStreamService streamService;
+    private final ObjectMapper objectMapper;
 
-    public PedidoController(PedidoService service) {
+    public PedidoController(PedidoService service, PedidoStreamService streamService,
+                            ObjectMapper objectMapper) {
         this.service = service;
+        this.streamService = streamService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<Pedido> listar() {
-        return service.listarTodos();
+    public PaginaPedidos listar(@RequestParam(required = false) String cursor,
+                                @RequestParam(defaultValue = "20") int tamano) {
+        return service.listarPagina(cursor, tamano);
     }
 
     @PostMapping
     public Pedido crear(@RequestBody Map<String, String> body) {
         String nombreCliente = body.getOrDefault("nombreCliente", "Mostrador");
-        return service.crearPedido(nombreCliente);
+        return service.crearPedido(nombreCliente, body.get("mesero"));
     }
 
     @PostMapping("/{idPedido}/agregar-producto")
@@ -42,6 +66,15 @@ public class PedidoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Agregar varias líneas en una sola llamada: [{"idProducto": 1, "cantidad": 2}, ...]
+    @PostMapping("/{idPedido}/agregar-productos")
+    public ResponseEntity<Pedido> agregarProductos(@PathVariable Long idPedido,
+                                                   @RequestBody List<ItemPedido> items) {
+        return service.agregarProductos(idPedido, items)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/{idPedido}/pagar")
     public ResponseEntity<Pedido> pagar(@PathVariable Long idPedido) {
         return service.marcarPagado(idPedido)
@@ -50,12 +83,57 @@ public class PedidoController {
     }
 
     @GetMapping("/entre-fechas")
-    public List<Pedido> entreFechas(
+    public PaginaPedidos entreFechas(
+            @RequestParam("desde")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam("hasta")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        return service.pedidosEntre(desde, hasta, cursor, tamano);
+    }
+
+    // Exportación NDJSON en streaming (una línea JSON por pedido, sin detalles)
+    @GetMapping(path = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar(
             @RequestParam("desde")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
             @RequestParam("hasta")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
-        return service.pedidosEntre(desde, hasta);
+        ObjectWriter writer = objectMapper.writerFor(PedidoResumen.class);
+        StreamingResponseBody cuerpo = salida -> {
+            OutputStream out = new BufferedOutputStream(salida);
+            service.exportarEntre(desde, hasta, resumen -> {
+                try {
+                    out.write(writer.writeValueAsBytes(resumen));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> peticionInvalida(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Falta de insumos al enviar a cocina: el pedido queda en su estado anterior
+    @ExceptionHandler(StockInsuficienteException.class)
+    public ResponseEntity<String> stockInsuficiente(StockInsuficienteException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    // Conflicto de concurrencia que persistió tras los reintentos: el cliente puede repetir la petición
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> conflicto(ConcurrencyFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("El pedido fue modificado concurrentemente, intente de nuevo");
     }
 
     // Patrones de Diseño - Nuevos endpoints
@@ -76,19 +154,48 @@ public class PedidoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // Memento - Ver historial
+    // Memento - Ver historial reciente (buffer en memoria)
     @GetMapping("/historial")
-    public ResponseEntity<String> verHistorial() {
-        service.mostrarHistorial();
-        return ResponseEntity.ok("Historial mostrado (ver logs del servidor)");
+    public List<HistorialPedido> verHistorial(@RequestParam(defaultValue = "50") int limite) {
+        return service.historialReciente(limite);
+    }
+
+    // Memento - Ver historial persistido de un pedido (paginado)
+    @GetMapping("/{idPedido}/historial")
+    public PagedModel<HistorialPedido> historialDePedido(@PathVariable Long idPedido,
+                                                         @RequestParam(defaultValue = "0") int pagina,
+                                                         @RequestParam(defaultValue = "20") int tamano) {
+        return new PagedModel<>(service.historialDePedido(idPedido, pagina, tamano));
     }
 
     // Observer - Registrar mesero para notificaciones
     @PostMapping("/registrar-mesero")
     public ResponseEntity<String> registrarMesero(@RequestBody Map<String, String> body) {
         String nombre = body.getOrDefault("nombre", "Mesero");
-        service.registrarMesero(nombre);
-        return ResponseEntity.ok("Mesero " + nombre + " registrado para notificaciones");
+        return switch (service.registrarMesero(nombre)) {
+            case REGISTRADO -> ResponseEntity.ok("Mesero " + nombre + " registrado para notificaciones");
+            case DUPLICADO -> ResponseEntity.ok("Mesero " + nombre + " ya estaba registrado");
+            case LIMITE_ALCANZADO -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body("Se alcanzó el límite de suscriptores de notificaciones");
+        };
+    }
+
+    // Observer - Stream SSE de cambios de estado (filtrable por estado o mesero)
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Pedido.EstadoPedido estado,
+                                             @RequestParam(required = false) String mesero,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        try {
+            return ResponseEntity.ok(streamService.conectar(estado, mesero, ultimoEventoId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Observer - Métricas del bus de notificaciones (contrapresión)
+    @GetMapping("/notificaciones/metricas")
+    public Map<String, Object> metricasNotificaciones() {
+        return service.metricasNotificaciones();
     }
 
 }
@@ -1,32 +1,39 @@
 package com.restaurante.gestionPedidos.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.restaurante.gestionProductos.model.Producto;
 import jakarta.persistence.*;
 
+import java.math.BigDecimal;
+
 @Entity
 @Table(name = "detalles_pedido")
 public class DetallePedido {
 
+    // Secuencia con asignación por bloques: permite insertar líneas con JDBC batch (IDENTITY no)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "detalles_pedido_seq")
+    @SequenceGenerator(name = "detalles_pedido_seq", sequenceName = "detalles_pedido_seq", allocationSize = 50)
     private Long id;
 
     private int cantidad;
-    private double precioUnitario;
+
+    // Precio en centavos (punto fijo exacto)
+    private long precioUnitarioCentavos;
 
     @ManyToOne(optional = false)
     private Producto producto;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pedido_id")
     private Pedido pedido;
 
     public DetallePedido() {}
 
-    public DetallePedido(Long id, int cantidad, double precioUnitario, Producto producto) {
+    public DetallePedido(Long id, int cantidad, long precioUnitarioCentavos, Producto producto) {
         this.id = id;
         this.cantidad = cantidad;
-        this.precioUnitario = precioUnitario;
+        this.precioUnitarioCentavos = precioUnitarioCentavos;
         this.producto = producto;
     }
 
@@ -38,14 +45,20 @@ public class DetallePedido {
         return cantidad;
     }
 
-    public double getPrecioUnitario() {
-        return precioUnitario;
+    public BigDecimal getPrecioUnitario() {
+        return Dinero.desdeCentavos(precioUnitarioCentavos);
+    }
+
+    @JsonIgnore
+    public long getPrecioUnitarioCentavos() {
+        return precioUnitarioCentavos;
     }
 
     public Producto getProducto() {
         return producto;
     }
 
+    @JsonIgnore
     public Pedido getPedido() {
         return pedido;
     }
@@ -58,8 +71,8 @@ public class DetallePedido {
         this.cantidad = cantidad;
     }
 
-    public void setPrecioUnitario(double precioUnitario) {
-        this.precioUnitario = precioUnitario;
+    public void setPrecioUnitarioCentavos(long precioUnitarioCentavos) {
+        this.precioUnitarioCentavos = precioUnitarioCentavos;
     }
 
     public void setProducto(Producto producto) {
@@ -70,9 +83,13 @@ public class DetallePedido {
         this.pedido = pedido;
     }
 
-    @Transient
-    public double getSubtotal() {
-        return cantidad * precioUnitario;
+    public BigDecimal getSubtotal() {
+        return Dinero.desdeCentavos(getSubtotalCentavos());
+    }
+
+    @JsonIgnore
+    public long getSubtotalCentavos() {
+        return cantidad * precioUnitarioCentavos;
     }
 
 }
@@ -0,0 +1,26 @@
+package com.restaurante.gestionPedidos.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversión de valores monetarios a centavos (punto fijo exacto en long) y de vuelta
+ */
+public final class Dinero {
+
+    private static final int DECIMALES = 2;
+
+    private Dinero() {}
+
+    public static long aCentavos(BigDecimal valor) {
+        if (valor == null) {
+            return 0L;
+        }
+        return valor.setScale(DECIMALES, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal desdeCentavos(long centavos) {
+        return BigDecimal.valueOf(centavos, DECIMALES);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.restaurante.gestionPedidos.model;
+
+import java.time.Instant;
+
+/**
+ * Observer Pattern - Evento inmutable de cambio en un pedido, publicado en el bus de notificaciones
+ */
+public final class EventoPedido {
+
+    public enum Tipo {
+        CREADO,
+        ENVIADO_COCINA,
+        TERMINADO,
+        PAGADO
+    }
+
+    private final long secuencia;
+    private final Tipo tipo;
+    private final Long idPedido;
+    private final String nombreCliente;
+    private final String nombreMesero;
+    private final Pedido.EstadoPedido estado;
+    private final boolean pagado;
+    private final Instant instante;
+
+    public EventoPedido(long secuencia, Tipo tipo, Pedido pedido) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.idPedido = pedido.getId();
+        this.nombreCliente = pedido.getNombreCliente();
+        this.nombreMesero = pedido.getNombreMesero();
+        this.estado = pedido.getEstado();
+        this.pagado = pedido.isPagado();
+        this.instante = Instant.now();
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getIdPedido() {
+        return idPedido;
+    }
+
+    public String getNombreCliente() {
+        return nombreCliente;
+    }
+
+    public String getNombreMesero() {
+        return nombreMesero;
+    }
+
+    public Pedido.EstadoPedido getEstado() {
+        return estado;
+    }
+
+    public boolean isPagado() {
+        return pagado;
+    }
+
+    public Instant getInstante() {
+        return instante;
+    }
+
+}
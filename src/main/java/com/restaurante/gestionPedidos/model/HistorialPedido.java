@@ -0,0 +1,95 @@
+package com.restaurante.gestionPedidos.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Memento Pattern - Snapshot inmutable del estado de un pedido, persistido en historial_pedidos
+ */
+@Entity
+@Table(name = "historial_pedidos")
+public class HistorialPedido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long pedidoId;
+    private String evento;         // CREADO, PRODUCTO_AGREGADO, ENVIADO_COCINA, TERMINADO, PAGADO
+    private String nombreCliente;
+
+    @Enumerated(EnumType.STRING)
+    private Pedido.EstadoPedido estado;
+
+    private long totalCentavos;
+    private boolean pagado;
+    private LocalDateTime fechaPedido;
+    private LocalDateTime registradoEn;
+
+    public HistorialPedido() {}
+
+    // Memento Pattern - Capturar el estado actual del pedido
+    public static HistorialPedido de(Pedido pedido, String evento) {
+        HistorialPedido m = new HistorialPedido();
+        m.pedidoId = pedido.getId();
+        m.evento = evento;
+        m.nombreCliente = pedido.getNombreCliente();
+        m.estado = pedido.getEstado();
+        m.totalCentavos = pedido.getTotalCentavos();
+        m.pagado = pedido.isPagado();
+        m.fechaPedido = pedido.getFechaHora();
+        m.registradoEn = LocalDateTime.now();
+        return m;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    public String getEvento() {
+        return evento;
+    }
+
+    public String getNombreCliente() {
+        return nombreCliente;
+    }
+
+    public Pedido.EstadoPedido getEstado() {
+        return estado;
+    }
+
+    public BigDecimal getTotal() {
+        return Dinero.desdeCentavos(totalCentavos);
+    }
+
+    @JsonIgnore
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+    public boolean isPagado() {
+        return pagado;
+    }
+
+    public LocalDateTime getFechaPedido() {
+        return fechaPedido;
+    }
+
+    public LocalDateTime getRegistradoEn() {
+        return registradoEn;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PedidoMemento{id=%d, evento=%s, cliente='%s', estado=%s, total=$%s}",
+                pedidoId, evento, nombreCliente, estado, getTotal());
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.restaurante.gestionPedidos.model;
+
+/**
+ * Línea solicitada al agregar productos en lote: {idProducto, cantidad}
+ */
+public class ItemPedido {
+
+    private Long idProducto;
+    private int cantidad;
+
+    public ItemPedido() {}
+
+    public ItemPedido(Long idProducto, int cantidad) {
+        this.idProducto = idProducto;
+        this.cantidad = cantidad;
+    }
+
+    public Long getIdProducto() {
+        return idProducto;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public void setIdProducto(Long idProducto) {
+        this.idProducto = idProducto;
+    }
+
+    public void setCantidad(int cantidad) {
+        this.cantidad = cantidad;
+    }
+
+}
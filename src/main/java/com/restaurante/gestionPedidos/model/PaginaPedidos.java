@@ -0,0 +1,26 @@
+package com.restaurante.gestionPedidos.model;
+
+import java.util.List;
+
+/**
+ * Página de pedidos con el cursor opaco de la siguiente página (null si no hay más)
+ */
+public class PaginaPedidos {
+
+    private final List<Pedido> pedidos;
+    private final String siguiente;
+
+    public PaginaPedidos(List<Pedido> pedidos, String siguiente) {
+        this.pedidos = pedidos;
+        this.siguiente = siguiente;
+    }
+
+    public List<Pedido> getPedidos() {
+        return pedidos;
+    }
+
+    public String getSiguiente() {
+        return siguiente;
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.restaurante.gestionPedidos.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,7 +36,12 @@ public class Pedido {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Control de concurrencia optimista: detecta actualizaciones perdidas entre transiciones
+    @Version
+    private long version;
+
     private String nombreCliente;  // o mesa
+    private String nombreMesero;   // mesero que atiende (opcional)
     private LocalDateTime fechaHora;
     private boolean pagado;
     
@@ -45,6 +52,11 @@ public class Pedido {
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DetallePedido> detalles = new ArrayList<>();
 
+    // Totales mantenidos de forma incremental (evitan recorrer/cargar los detalles)
+    private long totalCentavos;
+    private int cantidadItems;
+    private int cantidadLineas;
+
     public Pedido() {
         this.fechaHora = LocalDateTime.now();
         this.pagado = false;
@@ -95,10 +107,18 @@ public class Pedido {
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getNombreCliente() {
         return nombreCliente;
     }
 
+    public String getNombreMesero() {
+        return nombreMesero;
+    }
+
     public LocalDateTime getFechaHora() {
         return fechaHora;
     }
@@ -119,6 +139,10 @@ public class Pedido {
         this.nombreCliente = nombreCliente;
     }
 
+    public void setNombreMesero(String nombreMesero) {
+        this.nombreMesero = nombreMesero;
+    }
+
     public void setFechaHora(LocalDateTime fechaHora) {
         this.fechaHora = fechaHora;
     }
@@ -130,13 +154,26 @@ public class Pedido {
     public void agregarDetalle(DetallePedido d) {
         d.setPedido(this);
         this.detalles.add(d);
+        this.totalCentavos += d.getSubtotalCentavos();
+        this.cantidadItems += d.getCantidad();
+        this.cantidadLineas++;
+    }
+
+    public BigDecimal getTotal() {
+        return Dinero.desdeCentavos(totalCentavos);
+    }
+
+    @JsonIgnore
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+    public int getCantidadItems() {
+        return cantidadItems;
     }
 
-    @Transient
-    public double getTotal() {
-        return detalles.stream()
-                .mapToDouble(DetallePedido::getSubtotal)
-                .sum();
+    public int getCantidadLineas() {
+        return cantidadLineas;
     }
 
 }
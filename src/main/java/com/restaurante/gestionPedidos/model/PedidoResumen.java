@@ -0,0 +1,73 @@
+package com.restaurante.gestionPedidos.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vista plana de un pedido (sin detalles) para exportaciones y reportes
+ */
+public class PedidoResumen {
+
+    private final Long id;
+    private final String nombreCliente;
+    private final String nombreMesero;
+    private final LocalDateTime fechaHora;
+    private final Pedido.EstadoPedido estado;
+    private final boolean pagado;
+    private final BigDecimal total;
+    private final int cantidadItems;
+    private final int cantidadLineas;
+
+    private PedidoResumen(Pedido p) {
+        this.id = p.getId();
+        this.nombreCliente = p.getNombreCliente();
+        this.nombreMesero = p.getNombreMesero();
+        this.fechaHora = p.getFechaHora();
+        this.estado = p.getEstado();
+        this.pagado = p.isPagado();
+        this.total = p.getTotal();
+        this.cantidadItems = p.getCantidadItems();
+        this.cantidadLineas = p.getCantidadLineas();
+    }
+
+    public static PedidoResumen de(Pedido p) {
+        return new PedidoResumen(p);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombreCliente() {
+        return nombreCliente;
+    }
+
+    public String getNombreMesero() {
+        return nombreMesero;
+    }
+
+    public LocalDateTime getFechaHora() {
+        return fechaHora;
+    }
+
+    public Pedido.EstadoPedido getEstado() {
+        return estado;
+    }
+
+    public boolean isPagado() {
+        return pagado;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public int getCantidadItems() {
+        return cantidadItems;
+    }
+
+    public int getCantidadLineas() {
+        return cantidadLineas;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.restaurante.gestionPedidos.repository;
+
+import com.restaurante.gestionPedidos.model.HistorialPedido;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface HistorialPedidoRepository extends JpaRepository<HistorialPedido, Long>,
+        HistorialPedidoRepositoryCustom {
+
+    Page<HistorialPedido> findByPedidoId(Long pedidoId, Pageable pageable);
+
+}
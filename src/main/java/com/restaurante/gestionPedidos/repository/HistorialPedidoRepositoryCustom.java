@@ -0,0 +1,12 @@
+package com.restaurante.gestionPedidos.repository;
+
+import com.restaurante.gestionPedidos.model.HistorialPedido;
+
+import java.util.List;
+
+public interface HistorialPedidoRepositoryCustom {
+
+    // Inserción en lote (JDBC batch); el historial es solo de escritura al final
+    void insertarLote(List<HistorialPedido> lote);
+
+}
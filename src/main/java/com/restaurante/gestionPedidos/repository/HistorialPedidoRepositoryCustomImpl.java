@@ -0,0 +1,35 @@
+package com.restaurante.gestionPedidos.repository;
+
+import com.restaurante.gestionPedidos.model.HistorialPedido;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class HistorialPedidoRepositoryCustomImpl implements HistorialPedidoRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO historial_pedidos (pedido_id, evento, nombre_cliente, estado, total_centavos, pagado, " +
+            "fecha_pedido, registrado_en) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    public HistorialPedidoRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void insertarLote(List<HistorialPedido> lote) {
+        jdbc.batchUpdate(INSERT_SQL, lote, lote.size(), (ps, m) -> {
+            ps.setLong(1, m.getPedidoId());
+            ps.setString(2, m.getEvento());
+            ps.setString(3, m.getNombreCliente());
+            ps.setString(4, m.getEstado() != null ? m.getEstado().name() : null);
+            ps.setLong(5, m.getTotalCentavos());
+            ps.setBoolean(6, m.isPagado());
+            ps.setTimestamp(7, m.getFechaPedido() != null ? Timestamp.valueOf(m.getFechaPedido()) : null);
+            ps.setTimestamp(8, Timestamp.valueOf(m.getRegistradoEn()));
+        });
+    }
+
+}
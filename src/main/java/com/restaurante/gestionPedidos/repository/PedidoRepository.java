@@ -1,14 +1,57 @@
 package com.restaurante.gestionPedidos.repository;
 
 import com.restaurante.gestionPedidos.model.Pedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
-    List<Pedido> findByFechaHoraBetween(LocalDateTime desde, LocalDateTime hasta);
+    @EntityGraph(attributePaths = {"detalles", "detalles.producto"})
+    Optional<Pedido> findConDetallesById(Long id);
 
-}
+    // Paginación por cursor (keyset) sobre (fechaHora, id); usa el índice compuesto idx_pedidos_fecha_id
+    @Query("select p.id from Pedido p " +
+           "where p.fechaHora between :desde and :hasta " +
+           "and (p.fechaHora > :fechaCursor or (p.fechaHora = :fechaCursor and p.id > :idCursor)) " +
+           "order by p.fechaHora, p.id")
+    List<Long> findIdsPagina(@Param("desde") LocalDateTime desde,
+                             @Param("hasta") LocalDateTime hasta,
+                             @Param("fechaCursor") LocalDateTime fechaCursor,
+                             @Param("idCursor") Long idCursor,
+                             Limit limite);
+
+    // Lecturas con detalles y productos en una sola consulta (evita N+1 al serializar)
+    @EntityGraph(attributePaths = {"detalles", "detalles.producto"})
+    List<Pedido> findConDetallesByIdInOrderByFechaHoraAscIdAsc(Collection<Long> ids);
+
+    // Exportación: filas leídas desde un cursor JDBC (fetch size) sin cargar todo el rango
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Pedido p where p.fechaHora between :desde and :hasta order by p.fechaHora, p.id")
+    Stream<Pedido> streamEntre(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    // Unidades por producto de un pedido: [idProducto, cantidad] (proyección, sin cargar los detalles)
+    @Query("select d.producto.id, sum(d.cantidad) from DetallePedido d where d.pedido.id = :idPedido group by d.producto.id")
+    List<Object[]> contarUnidadesPorProducto(@Param("idPedido") Long idPedido);
 
+    // Unidades por pedido y producto de los pedidos en un estado: [idPedido, idProducto, cantidad]
+    @Query("select d.pedido.id, d.producto.id, sum(d.cantidad) from DetallePedido d " +
+           "where d.pedido.estado = :estado group by d.pedido.id, d.producto.id order by d.pedido.id")
+    List<Object[]> contarUnidadesPorProductoEnEstado(@Param("estado") Pedido.EstadoPedido estado);
+
+    // Pedidos sin pagar agrupados por estado: [EstadoPedido, Long]
+    @Query("select p.estado, count(p) from Pedido p where p.pagado = false group by p.estado")
+    List<Object[]> contarActivosPorEstado();
+
+}
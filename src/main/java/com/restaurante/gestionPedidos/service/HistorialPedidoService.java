@@ -0,0 +1,220 @@
+package com.restaurante.gestionPedidos.service;
+
+import com.restaurante.gestionPedidos.model.HistorialPedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.repository.HistorialPedidoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Memento Pattern - Historial de pedidos de solo escritura al final.
+ * Los snapshots se guardan en un buffer circular acotado en memoria y se persisten
+ * de forma asíncrona y por lotes en la tabla historial_pedidos. Un lote que falla se reintenta
+ * en los siguientes volcados hasta max-intentos y después se descarta.
+ */
+@Service
+public class HistorialPedidoService {
+
+    private static final Logger log = LoggerFactory.getLogger(HistorialPedidoService.class);
+
+    static final int TAMANO_PAGINA_MAXIMO = 100;
+
+    private final HistorialPedidoRepository repo;
+    private final int tamanoLote;
+    private final int maxPendientes;
+    private final int maxIntentos;
+    private final long esperaLecturaMs;
+
+    // Buffer circular con los snapshots más recientes (se sobrescriben los más antiguos)
+    private final AtomicReferenceArray<HistorialPedido> recientes;
+    private final AtomicLong escritos = new AtomicLong();
+
+    // Snapshots pendientes de persistir
+    private final ConcurrentLinkedQueue<HistorialPedido> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger totalPendientes = new AtomicInteger();
+    private final AtomicLong descartados = new AtomicLong();
+
+    // Lotes que fallaron con los intentos hechos; solo se tocan dentro de volcar()
+    private record LoteFallido(List<HistorialPedido> filas, int intentos) {
+    }
+
+    private final Deque<LoteFallido> fallidos = new ArrayDeque<>();
+
+    private final AtomicBoolean volcadoProgramado = new AtomicBoolean();
+    private final ScheduledExecutorService volcador;
+
+    public HistorialPedidoService(HistorialPedidoRepository repo,
+                                  @Value("${app.historial.capacidad-memoria:1000}") int capacidadMemoria,
+                                  @Value("${app.historial.tamano-lote:200}") int tamanoLote,
+                                  @Value("${app.historial.max-pendientes:50000}") int maxPendientes,
+                                  @Value("${app.historial.intervalo-volcado-ms:1000}") long intervaloVolcadoMs,
+                                  @Value("${app.historial.max-intentos:5}") int maxIntentos,
+                                  @Value("${app.historial.espera-lectura-ms:200}") long esperaLecturaMs) {
+        this.repo = repo;
+        this.tamanoLote = tamanoLote;
+        this.maxPendientes = maxPendientes;
+        this.maxIntentos = Math.max(maxIntentos, 1);
+        this.esperaLecturaMs = esperaLecturaMs;
+        this.recientes = new AtomicReferenceArray<>(capacidadMemoria);
+        this.volcador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "historial-pedidos");
+            t.setDaemon(true);
+            return t;
+        });
+        this.volcador.scheduleWithFixedDelay(this::volcarSeguro,
+                intervaloVolcadoMs, intervaloVolcadoMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Memento Pattern - Guardar snapshot (no bloquea ni accede a la base de datos)
+    public void registrar(Pedido pedido, String evento) {
+        HistorialPedido snapshot = HistorialPedido.de(pedido, evento);
+
+        long posicion = escritos.getAndIncrement();
+        recientes.set((int) (posicion % recientes.length()), snapshot);
+
+        if (totalPendientes.incrementAndGet() > maxPendientes) {
+            // La base de datos no da abasto: se descarta el más antiguo para acotar memoria
+            if (pendientes.poll() != null) {
+                totalPendientes.decrementAndGet();
+                descartados.incrementAndGet();
+            }
+        }
+        pendientes.add(snapshot);
+
+        if (totalPendientes.get() >= tamanoLote && volcadoProgramado.compareAndSet(false, true)) {
+            volcador.execute(this::volcarSeguro);
+        }
+    }
+
+    // Snapshots más recientes en memoria, del más nuevo al más antiguo
+    public List<HistorialPedido> recientes(int limite) {
+        long total = escritos.get();
+        int capacidad = recientes.length();
+        int cantidad = (int) Math.min(Math.min(total, capacidad), Math.max(limite, 0));
+
+        List<HistorialPedido> resultado = new ArrayList<>(cantidad);
+        for (long i = total - 1; i >= total - cantidad; i--) {
+            HistorialPedido m = recientes.get((int) (i % capacidad));
+            if (m != null) {
+                resultado.add(m);
+            }
+        }
+        return resultado;
+    }
+
+    // Historial persistido de un pedido, paginado y del más nuevo al más antiguo. Lectura de réplica:
+    // con réplica, lo recién volcado se lee cuando la réplica lo recibe
+    @Transactional(readOnly = true)
+    public Page<HistorialPedido> historialDePedido(Long idPedido, int pagina, int tamano) {
+        PageRequest pageable = PageRequest.of(Math.max(pagina, 0),
+                Math.min(Math.max(tamano, 1), TAMANO_PAGINA_MAXIMO),
+                Sort.by(Sort.Order.desc("registradoEn"), Sort.Order.desc("id")));
+        return repo.findByPedidoId(idPedido, pageable);
+    }
+
+    public int pendientes() {
+        return totalPendientes.get();
+    }
+
+    public long descartados() {
+        return descartados.get();
+    }
+
+    // Antes de leer el historial: pide un volcado al hilo del historial y lo espera como mucho
+    // espera-lectura-ms. Se llama fuera de toda transacción, así la espera no retiene una conexión del
+    // pool que el volcado podría necesitar; si no termina a tiempo (o falla) se lee lo ya persistido
+    public void volcarAntesDeLeer() {
+        if (totalPendientes.get() == 0) {
+            return;
+        }
+        Future<?> volcado = volcador.submit(this::volcarSeguro);
+        try {
+            volcado.get(esperaLecturaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("El volcado del historial sigue en curso; se lee lo ya persistido");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // volcarSeguro no lanza: ya registró el error
+        }
+    }
+
+    private void volcarSeguro() {
+        volcadoProgramado.set(false);
+        try {
+            volcar();
+        } catch (RuntimeException e) {
+            log.error("No se pudo persistir el historial de pedidos ({} pendientes)", pendientes(), e);
+        }
+    }
+
+    // Persistir por lotes, primero los que fallaron antes; solo un volcado a la vez.
+    // Los snapshots cuentan como pendientes hasta que se escriben o se descartan
+    synchronized void volcar() {
+        LoteFallido fallido;
+        while ((fallido = fallidos.pollFirst()) != null) {
+            persistir(fallido.filas(), fallido.intentos());
+        }
+        List<HistorialPedido> lote = new ArrayList<>(tamanoLote);
+        HistorialPedido m;
+        while ((m = pendientes.poll()) != null) {
+            lote.add(m);
+            if (lote.size() == tamanoLote) {
+                persistir(lote, 0);
+                lote = new ArrayList<>(tamanoLote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            persistir(lote, 0);
+        }
+    }
+
+    private void persistir(List<HistorialPedido> lote, int intentosPrevios) {
+        try {
+            repo.insertarLote(lote);
+            totalPendientes.addAndGet(-lote.size());
+        } catch (RuntimeException e) {
+            int intentos = intentosPrevios + 1;
+            if (intentos >= maxIntentos) {
+                // Un lote que nunca entra (p. ej. una fila inválida) no debe bloquear a los demás
+                totalPendientes.addAndGet(-lote.size());
+                descartados.addAndGet(lote.size());
+                log.error("Se descartan {} snapshots del historial tras {} intentos", lote.size(), intentos, e);
+                return;
+            }
+            // Se reintenta en el siguiente volcado, antes que los más nuevos
+            fallidos.addFirst(new LoteFallido(lote, intentos));
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        volcador.shutdown();
+        volcarSeguro();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.restaurante.gestionPedidos.service;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.repository.PedidoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de negocio de pedidos: contador de transiciones de estado y pedidos activos (sin pagar) por estado.
+ * Los medidores se crean una sola vez; registrar una transición es un incremento atómico.
+ */
+@Component
+public class MetricasPedidos {
+
+    private static final String TRANSICIONES = "pedidos.transiciones";
+    private static final String NUEVO = "NUEVO";
+    private static final String PAGADO = "PAGADO";
+
+    private static final Pedido.EstadoPedido[] ESTADOS = Pedido.EstadoPedido.values();
+
+    private final Map<Pedido.EstadoPedido, AtomicLong> activos = new EnumMap<>(Pedido.EstadoPedido.class);
+
+    private final Counter creados;
+    // [desde][hacia] entre estados; la última columna es el pago
+    private final Counter[][] transiciones = new Counter[ESTADOS.length][ESTADOS.length + 1];
+
+    public MetricasPedidos(MeterRegistry registry, PedidoRepository pedidoRepo) {
+        for (Pedido.EstadoPedido estado : ESTADOS) {
+            AtomicLong valor = new AtomicLong();
+            activos.put(estado, valor);
+            Gauge.builder("pedidos.activos", valor, AtomicLong::get)
+                    .description("Pedidos sin pagar por estado")
+                    .tag("estado", estado.name())
+                    .register(registry);
+        }
+        for (Object[] fila : pedidoRepo.contarActivosPorEstado()) {
+            activos.get((Pedido.EstadoPedido) fila[0]).set((Long) fila[1]);
+        }
+
+        this.creados = contador(registry, NUEVO, Pedido.EstadoPedido.RECIBIDO.name());
+        for (Pedido.EstadoPedido desde : ESTADOS) {
+            for (Pedido.EstadoPedido hacia : ESTADOS) {
+                transiciones[desde.ordinal()][hacia.ordinal()] = contador(registry, desde.name(), hacia.name());
+            }
+            transiciones[desde.ordinal()][ESTADOS.length] = contador(registry, desde.name(), PAGADO);
+        }
+    }
+
+    private static Counter contador(MeterRegistry registry, String desde, String hacia) {
+        return Counter.builder(TRANSICIONES)
+                .description("Transiciones de estado de pedidos")
+                .tag("desde", desde)
+                .tag("hacia", hacia)
+                .register(registry);
+    }
+
+    public void creado() {
+        creados.increment();
+        activos.get(Pedido.EstadoPedido.RECIBIDO).incrementAndGet();
+    }
+
+    // Un pedido ya pagado sigue contando la transición pero no figura entre los activos
+    public void transicion(Pedido.EstadoPedido desde, Pedido.EstadoPedido hacia, boolean pagado) {
+        transiciones[desde.ordinal()][hacia.ordinal()].increment();
+        if (!pagado) {
+            activos.get(desde).decrementAndGet();
+            activos.get(hacia).incrementAndGet();
+        }
+    }
+
+    public void pagado(Pedido.EstadoPedido estado) {
+        transiciones[estado.ordinal()][ESTADOS.length].increment();
+        activos.get(estado).decrementAndGet();
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.restaurante.gestionPedidos.service;
+
+import com.restaurante.gestionDiagnostico.jfr.NotificacionEvento;
+import com.restaurante.gestionPedidos.model.EventoPedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Observer Pattern - Bus de notificaciones asíncrono.
+ * Publicar solo encola el evento (O(1), sin esperas); un grupo pequeño de despachadores
+ * lo entrega a los suscriptores fuera del hilo de la petición. Cada pedido va siempre al mismo
+ * despachador, así que sus eventos se entregan en el orden en que se publicaron.
+ * Las colas no usan locks (ConcurrentLinkedQueue acotada con un contador atómico): un despachador
+ * sin trabajo se estaciona y quien publica solo lo despierta si está estacionado.
+ */
+@Component
+public class NotificacionBus {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacionBus.class);
+
+    // Suscriptor que recibe los eventos en un hilo despachador
+    @FunctionalInterface
+    public interface Suscriptor {
+        void recibir(EventoPedido evento);
+    }
+
+    public enum ResultadoSuscripcion {
+        REGISTRADO,
+        DUPLICADO,
+        LIMITE_ALCANZADO
+    }
+
+    // Cola sin locks de un despachador; esperando indica que el despachador está (o va a estar) estacionado
+    private static final class Cola {
+        private final ConcurrentLinkedQueue<EventoPedido> eventos = new ConcurrentLinkedQueue<>();
+        private volatile boolean esperando;
+        private volatile Thread despachador;
+    }
+
+    private final int capacidadCola;
+    private final int maxSuscriptores;
+
+    // Una cola por despachador; la capacidad se acota entre todas con un contador atómico de ocupación
+    private final Cola[] colas;
+    private final AtomicInteger ocupacion = new AtomicInteger();
+
+    // Registro copy-on-write: las lecturas (cada entrega) no bloquean, las escrituras copian el mapa
+    private volatile Map<String, Suscriptor> suscriptores = Collections.emptyMap();
+
+    private final AtomicLong secuencia = new AtomicLong();
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong entregados = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    private volatile boolean activo = true;
+
+    public NotificacionBus(@Value("${app.notificaciones.capacidad-cola:10000}") int capacidadCola,
+                           @Value("${app.notificaciones.despachadores:2}") int despachadores,
+                           @Value("${app.notificaciones.max-suscriptores:200}") int maxSuscriptores) {
+        this.capacidadCola = capacidadCola;
+        this.maxSuscriptores = maxSuscriptores;
+        this.colas = new Cola[Math.max(despachadores, 1)];
+        for (int i = 0; i < colas.length; i++) {
+            colas[i] = new Cola();
+        }
+    }
+
+    @PostConstruct
+    void iniciar() {
+        for (int i = 0; i < colas.length; i++) {
+            Cola cola = colas[i];
+            Thread t = new Thread(() -> despachar(cola), "notificaciones-" + i);
+            t.setDaemon(true);
+            cola.despachador = t;
+            t.start();
+        }
+    }
+
+    // Publicar evento: nunca bloquea; si la cola está llena el evento se descarta y se cuenta
+    public boolean publicar(EventoPedido.Tipo tipo, Pedido pedido) {
+        NotificacionEvento jfr = NotificacionEvento.iniciar();
+        if (ocupacion.incrementAndGet() > capacidadCola) {
+            ocupacion.decrementAndGet();
+            descartados.incrementAndGet();
+            jfr.terminar(NotificacionEvento.PUBLICAR, tipo.name(), pedido.getId(), 0, null, false);
+            return false;
+        }
+        EventoPedido evento = new EventoPedido(secuencia.incrementAndGet(), tipo, pedido);
+        Cola cola = colaDe(evento);
+        cola.eventos.offer(evento);
+        if (cola.esperando) {
+            LockSupport.unpark(cola.despachador);
+        }
+        publicados.incrementAndGet();
+        jfr.terminar(NotificacionEvento.PUBLICAR, tipo.name(), evento.getIdPedido(), evento.getSecuencia(), null, true);
+        return true;
+    }
+
+    public synchronized ResultadoSuscripcion suscribir(String clave, Suscriptor suscriptor) {
+        if (suscriptores.containsKey(clave)) {
+            return ResultadoSuscripcion.DUPLICADO;
+        }
+        if (suscriptores.size() >= maxSuscriptores) {
+            return ResultadoSuscripcion.LIMITE_ALCANZADO;
+        }
+        Map<String, Suscriptor> copia = new LinkedHashMap<>(suscriptores);
+        copia.put(clave, suscriptor);
+        suscriptores = Collections.unmodifiableMap(copia);
+        return ResultadoSuscripcion.REGISTRADO;
+    }
+
+    public synchronized boolean desuscribir(String clave) {
+        if (!suscriptores.containsKey(clave)) {
+            return false;
+        }
+        Map<String, Suscriptor> copia = new LinkedHashMap<>(suscriptores);
+        copia.remove(clave);
+        suscriptores = Collections.unmodifiableMap(copia);
+        return true;
+    }
+
+    // Secuencia del último evento publicado (0 si todavía no hay)
+    public long ultimaSecuencia() {
+        return secuencia.get();
+    }
+
+    // Métricas de contrapresión del bus
+    public Map<String, Object> metricas() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("profundidadCola", ocupacion.get());
+        m.put("capacidadCola", capacidadCola);
+        m.put("suscriptores", suscriptores.size());
+        m.put("publicados", publicados.get());
+        m.put("entregados", entregados.get());
+        m.put("descartados", descartados.get());
+        m.put("errores", errores.get());
+        return m;
+    }
+
+    // Los eventos de un mismo pedido comparten cola (y despachador): se entregan en orden
+    private Cola colaDe(EventoPedido evento) {
+        Long idPedido = evento.getIdPedido();
+        return colas[idPedido == null ? 0 : Math.floorMod(idPedido, colas.length)];
+    }
+
+    private void despachar(Cola cola) {
+        while (activo) {
+            EventoPedido evento = cola.eventos.poll();
+            if (evento == null) {
+                // Marcar antes de volver a mirar: un evento publicado después de este poll ve la marca
+                // y despierta al despachador (si el unpark llega antes del park, park no se detiene)
+                cola.esperando = true;
+                evento = cola.eventos.poll();
+                if (evento == null) {
+                    LockSupport.park(this);
+                }
+                cola.esperando = false;
+                if (evento == null) {
+                    continue;
+                }
+            }
+            ocupacion.decrementAndGet();
+            entregar(evento);
+        }
+        // detener(): se entregan los eventos que quedaron en la cola
+        EventoPedido evento;
+        while ((evento = cola.eventos.poll()) != null) {
+            ocupacion.decrementAndGet();
+            entregar(evento);
+        }
+    }
+
+    private void entregar(EventoPedido evento) {
+        for (Map.Entry<String, Suscriptor> s : suscriptores.entrySet()) {
+            NotificacionEvento jfr = NotificacionEvento.iniciar();
+            boolean aceptado = false;
+            try {
+                s.getValue().recibir(evento);
+                entregados.incrementAndGet();
+                aceptado = true;
+            } catch (RuntimeException e) {
+                errores.incrementAndGet();
+                log.warn("Suscriptor '{}' falló con el evento #{}", s.getKey(), evento.getSecuencia(), e);
+            }
+            jfr.terminar(NotificacionEvento.ENTREGAR, evento.getTipo().name(), evento.getIdPedido(),
+                    evento.getSecuencia(), s.getKey(), aceptado);
+        }
+    }
+
+    @PreDestroy
+    void detener() throws InterruptedException {
+        activo = false;
+        for (Cola cola : colas) {
+            Thread t = cola.despachador;
+            if (t != null) {
+                LockSupport.unpark(t);
+                t.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+    }
+
+}
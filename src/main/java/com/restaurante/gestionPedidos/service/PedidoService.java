@@ -1,16 +1,52 @@
 package com.restaurante.gestionPedidos.service;
 
+import com.restaurante.config.bulkhead.BulkheadBaseDatos;
+import com.restaurante.gestionCocina.service.PlanificadorCocina;
+import com.restaurante.gestionDiagnostico.jfr.PedidoEvento;
+import com.restaurante.gestionInventario.service.InventarioService;
 import com.restaurante.gestionPedidos.model.DetallePedido;
+import com.restaurante.gestionPedidos.model.Dinero;
+import com.restaurante.gestionPedidos.model.EventoPedido;
+import com.restaurante.gestionPedidos.model.HistorialPedido;
+import com.restaurante.gestionPedidos.model.ItemPedido;
+import com.restaurante.gestionPedidos.model.PaginaPedidos;
 import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.model.PedidoResumen;
 import com.restaurante.gestionPedidos.repository.PedidoRepository;
 import com.restaurante.gestionProductos.model.Producto;
-import com.restaurante.gestionProductos.repository.ProductoRepository;
+import com.restaurante.gestionProductos.service.ProductoService;
+import com.restaurante.gestionReportes.service.ReporteVentasService;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Service refactorizado con patrones integrados: State, Command, Observer, Mediator, Memento
@@ -18,25 +54,68 @@ import java.util.Optional;
 @Service
 public class PedidoService {
 
+    private static final Logger log = LoggerFactory.getLogger(PedidoService.class);
+
+    private static final LocalDateTime FECHA_MINIMA = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime FECHA_MAXIMA = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final PedidoRepository pedidoRepo;
-    private final ProductoRepository productoRepo;
+    private final ProductoService productoService;
+    private final InventarioService inventarioService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaccion;
+    // Bulkhead de base de datos (null si app.bulkhead.habilitado=false)
+    private final BulkheadBaseDatos bulkhead;
+    private final int tamanoPaginaMaximo;
+    private final int maxReintentos;
     
     // ========== PATRÓN OBSERVER ==========
-    // Observer Pattern - Lista de observadores (meseros) para notificaciones automáticas
-    private final List<MeseroObserver> observadoresMeseros = new ArrayList<>();
+    // Observer Pattern - Bus asíncrono con los observadores (meseros) para notificaciones automáticas
+    private final NotificacionBus bus;
     
     // ========== PATRÓN MEMENTO ==========
-    // Memento Pattern - Historial de estados de pedidos para restaurar estados anteriores
-    private final List<PedidoMemento> historial = new ArrayList<>();
+    // Memento Pattern - Historial acotado y persistente de estados de pedidos
+    private final HistorialPedidoService historial;
     
     // ========== PATRÓN MEDIATOR ==========
     // Mediator Pattern - Intermediario para coordinar comunicación entre componentes
-    private final MediadorRestaurante mediador = new MediadorRestaurante();
+    private final MediadorRestaurante mediador;
+
+    private final MetricasPedidos metricas;
+    private final ReporteVentasService reportes;
+    private final PlanificadorCocina cocina;
 
     public PedidoService(PedidoRepository pedidoRepo, 
-                        ProductoRepository productoRepo) {
+                        ProductoService productoService,
+                        InventarioService inventarioService,
+                        HistorialPedidoService historial,
+                        NotificacionBus bus,
+                        MetricasPedidos metricas,
+                        ReporteVentasService reportes,
+                        PlanificadorCocina cocina,
+                        EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        ObjectProvider<BulkheadBaseDatos> bulkhead,
+                        @Value("${app.pedidos.tamano-pagina-maximo:100}") int tamanoPaginaMaximo,
+                        @Value("${app.pedidos.max-reintentos:3}") int maxReintentos) {
         this.pedidoRepo = pedidoRepo;
-        this.productoRepo = productoRepo;
+        this.productoService = productoService;
+        this.inventarioService = inventarioService;
+        this.entityManager = entityManager;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.bulkhead = bulkhead.getIfAvailable();
+        this.tamanoPaginaMaximo = tamanoPaginaMaximo;
+        this.maxReintentos = Math.max(maxReintentos, 1);
+        this.historial = historial;
+        this.bus = bus;
+        this.metricas = metricas;
+        this.reportes = reportes;
+        this.cocina = cocina;
+        this.mediador = new MediadorRestaurante(bus);
+        bus.suscribir("mediador", mediador);
+
+        // Observer Pattern - La cocina avisa cuando la última línea de un pedido está lista
+        cocina.alCompletarPedido(this::terminarPorCocina);
         
         // Registrar mesero por defecto (Observer)
         registrarMesero("Mesero Principal");
@@ -44,63 +123,61 @@ public class PedidoService {
 
     // Observer Pattern - Interfaz para observadores
     @FunctionalInterface
-    private interface MeseroObserver {
-        void notificar(Pedido pedido, String estado);
+    private interface MeseroObserver extends NotificacionBus.Suscriptor {
     }
 
-    // Observer Pattern - Registrar mesero para notificaciones
-    public void registrarMesero(String nombreMesero) {
-        observadoresMeseros.add((pedido, estado) -> 
-            System.out.println("🔔 NOTIFICACIÓN para Mesero " + nombreMesero + 
-                             ": El pedido #" + pedido.getId() + " cambió a estado: " + estado)
-        );
+    // Observer Pattern - Registrar mesero para notificaciones (un registro por mesero)
+    public NotificacionBus.ResultadoSuscripcion registrarMesero(String nombreMesero) {
+        MeseroObserver observador = evento ->
+            log.info("🔔 NOTIFICACIÓN para Mesero {}: El pedido #{} cambió a estado: {}",
+                    nombreMesero, evento.getIdPedido(), evento.getEstado());
+        return bus.suscribir("mesero:" + nombreMesero.trim().toLowerCase(Locale.ROOT), observador);
     }
 
-    // Observer Pattern - Notificar a todos los observadores
-    private void notificarObservadores(Pedido pedido, String estado) {
-        observadoresMeseros.forEach(obs -> obs.notificar(pedido, estado));
+    // Observer Pattern - Notificar a todos los observadores (se encola, no bloquea la petición)
+    private void notificarObservadores(Pedido pedido, EventoPedido.Tipo tipo) {
+        bus.publicar(tipo, pedido);
     }
 
-    // Memento Pattern - Clase interna para guardar snapshot del estado del pedido
-    private static class PedidoMemento {
-        private final Long id;
-        private final String cliente;
-        private final LocalDateTime fecha;
-        private final Pedido.EstadoPedido estado;
-        private final double total;
+    public Map<String, Object> metricasNotificaciones() {
+        return bus.metricas();
+    }
 
-        public PedidoMemento(Pedido pedido) {
-            this.id = pedido.getId();
-            this.cliente = pedido.getNombreCliente();
-            this.fecha = pedido.getFechaHora();
-            this.estado = pedido.getEstado();
-            this.total = pedido.getTotal();
-        }
+    // Mediator Pattern - Clase interna que centraliza la comunicación entre cocinero y mesero
+    private static class MediadorRestaurante implements NotificacionBus.Suscriptor {
+        private final NotificacionBus bus;
 
-        @Override
-        public String toString() {
-            return String.format("PedidoMemento{id=%d, cliente='%s', estado=%s, total=$%.2f}",
-                    id, cliente, estado, total);
+        MediadorRestaurante(NotificacionBus bus) {
+            this.bus = bus;
         }
-    }
 
-    // Mediator Pattern - Clase interna que centraliza la comunicación entre cocinero y mesero
-    private static class MediadorRestaurante {
         public void enviarPedidoACocinero(Pedido pedido) {
-            System.out.println("📋 Mediador: Recibiendo pedido #" + pedido.getId() + " del cliente");
-            System.out.println("👨‍🍳 Mediador: Enviando pedido al cocinero...");
+            bus.publicar(EventoPedido.Tipo.ENVIADO_COCINA, pedido);
         }
 
         public void pedidoListo(Pedido pedido) {
-            System.out.println("✅ Mediador: Pedido #" + pedido.getId() + " terminado, notificando mesero...");
+            bus.publicar(EventoPedido.Tipo.TERMINADO, pedido);
+        }
+
+        // Mediator Pattern - Coordinar cocinero y mesero fuera del hilo de la petición
+        @Override
+        public void recibir(EventoPedido evento) {
+            switch (evento.getTipo()) {
+                case ENVIADO_COCINA ->
+                    log.info("📋 Mediador: Pedido #{} recibido del cliente, enviando al cocinero...", evento.getIdPedido());
+                case TERMINADO ->
+                    log.info("✅ Mediador: Pedido #{} terminado, notificando mesero...", evento.getIdPedido());
+                default -> { }
+            }
         }
     }
 
     // ========== PATRÓN COMMAND ==========
     // Command Pattern - Encapsula la operación de crear pedido como un comando
-    private Pedido ejecutarComandoCrear(String nombreCliente) {
+    private Pedido ejecutarComandoCrear(String nombreCliente, String nombreMesero) {
         Pedido pedido = new Pedido();
         pedido.setNombreCliente(nombreCliente);
+        pedido.setNombreMesero(nombreMesero);
         return pedidoRepo.save(pedido);
     }
 
@@ -109,128 +186,292 @@ public class PedidoService {
         mediador.enviarPedidoACocinero(pedido);
     }
 
-    public List<Pedido> listarTodos() {
-        return pedidoRepo.findAll();
+    // Paginación por cursor (keyset) sobre (fechaHora, id): coste constante sin importar la página
+    @Transactional(readOnly = true)
+    public PaginaPedidos listarPagina(String cursor, int tamano) {
+        return pedidosEntre(FECHA_MINIMA, FECHA_MAXIMA, cursor, tamano);
     }
 
     public Optional<Pedido> buscarPorId(Long id) {
-        return pedidoRepo.findById(id);
+        return pedidoRepo.findConDetallesById(id);
+    }
+
+    // Varios pedidos sin sus detalles en una sola consulta (los faltantes se omiten)
+    public Map<Long, Pedido> buscarPorIds(Collection<Long> ids) {
+        Map<Long, Pedido> pedidos = new HashMap<>(ids.size() * 2);
+        pedidoRepo.findAllById(ids).forEach(p -> pedidos.put(p.getId(), p));
+        return pedidos;
     }
 
     // Command Pattern - Crear pedido (comando integrado directamente)
-    public Pedido crearPedido(String nombreCliente) {
+    public Pedido crearPedido(String nombreCliente, String nombreMesero) {
+        PedidoEvento evento = PedidoEvento.iniciar(PedidoEvento.CREAR, null);
+
         // Command Pattern - Ejecutar comando de creación
-        Pedido pedido = ejecutarComandoCrear(nombreCliente);
+        Pedido pedido = ejecutarComandoCrear(nombreCliente, nombreMesero);
+        metricas.creado();
         
         // Memento Pattern - Guardar estado inicial
-        historial.add(new PedidoMemento(pedido));
+        historial.registrar(pedido, "CREADO");
         
         // Observer Pattern - Notificar estado inicial
-        notificarObservadores(pedido, pedido.obtenerEstadoActual());
-        
+        notificarObservadores(pedido, EventoPedido.Tipo.CREADO);
+
+        evento.terminar(pedido);
         return pedido;
     }
 
     public Optional<Pedido> agregarProducto(Long idPedido, Long idProducto, int cantidad) {
-        return pedidoRepo.findById(idPedido).map(pedido -> {
-            Producto producto = productoRepo.findById(idProducto)
-                    .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
+        return agregarProductos(idPedido, List.of(new ItemPedido(idProducto, cantidad)));
+    }
+
+    // Agregar varias líneas en una sola operación: productos desde el catálogo en caché,
+    // productos repetidos fusionados en una línea, inserciones en lote y un solo snapshot
+    public Optional<Pedido> agregarProductos(Long idPedido, List<ItemPedido> items) {
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        for (ItemPedido item : items) {
+            if (item.getIdProducto() == null || item.getCantidad() <= 0) {
+                throw new IllegalArgumentException("Cada item requiere idProducto y una cantidad positiva");
+            }
+            cantidades.merge(item.getIdProducto(), item.getCantidad(), Integer::sum);
+        }
+
+        Map<Long, Producto> productos = productoService.buscarPorIds(cantidades.keySet());
+        for (Long idProducto : cantidades.keySet()) {
+            if (!productos.containsKey(idProducto)) {
+                throw new RuntimeException("Producto no encontrado: " + idProducto);
+            }
+        }
 
-            DetallePedido detalle = new DetallePedido();
-            detalle.setCantidad(cantidad);
-            detalle.setPrecioUnitario(producto.getPrecio().doubleValue());
-            detalle.setProducto(producto);
+        PedidoEvento evento = PedidoEvento.iniciar(PedidoEvento.AGREGAR_LINEAS, idPedido)
+                .lineasAgregadas(cantidades.size());
+        Optional<Pedido> resultado = conReintento(() ->
+            pedidoRepo.findById(idPedido).map(pedido -> {
+                List<DetallePedido> nuevas = new ArrayList<>(cantidades.size());
+                cantidades.forEach((idProducto, cantidad) -> {
+                    Producto producto = productos.get(idProducto);
 
-            pedido.agregarDetalle(detalle);
+                    DetallePedido detalle = new DetallePedido();
+                    detalle.setCantidad(cantidad);
+                    detalle.setPrecioUnitarioCentavos(Dinero.aCentavos(producto.getPrecio()));
+                    detalle.setProducto(producto);
 
-            Pedido guardado = pedidoRepo.save(pedido);
-            
-            // Memento Pattern - Guardar estado después de agregar producto
-            historial.add(new PedidoMemento(guardado));
-            
-            return guardado;
-        });
+                    // Solo se inserta la línea nueva; no se recorren ni se cargan las existentes
+                    pedido.agregarDetalle(detalle);
+                    entityManager.persist(detalle);
+                    nuevas.add(detalle);
+                });
+                // Un pedido ya pagado también suma estas líneas a los rollups de ventas
+                if (pedido.isPagado()) {
+                    reportes.registrarLineasAdicionales(pedido, nuevas);
+                }
+                return pedido;
+            })
+        );
+
+        // Memento Pattern - Guardar estado después de agregar productos (una entrada por lote)
+        resultado.ifPresent(guardado -> historial.registrar(guardado, "PRODUCTO_AGREGADO"));
+
+        evento.terminar(resultado.orElse(null));
+        return resultado;
     }
 
     // ========== PATRÓN STATE ==========
     // State Pattern - Cambiar estado del pedido: RECIBIDO -> COCINANDO
     public Optional<Pedido> enviarACocinero(Long idPedido) {
-        return pedidoRepo.findById(idPedido).map(pedido -> {
+        PedidoEvento evento = PedidoEvento.iniciar(PedidoEvento.ENVIAR_COCINA, idPedido);
+        AtomicReference<Map<Long, Integer>> lineas = new AtomicReference<>(Map.of());
+        Optional<Pedido> resultado = conReintento(() -> pedidoRepo.findById(idPedido).map(pedido -> {
             // State Pattern - Validar transición de estado antes de cambiar
             if (!pedido.puedeCocinar()) {
-                throw new RuntimeException("El pedido no puede pasar a cocinando desde el estado: " + pedido.getEstado());
+                throw new TransicionInvalidaException("El pedido no puede pasar a cocinando desde el estado: " + pedido.getEstado());
             }
             
+            // Descontar los insumos de todas las líneas en la misma transacción (si falta stock no cambia el estado)
+            Map<Long, Integer> unidades = new HashMap<>();
+            for (Object[] fila : pedidoRepo.contarUnidadesPorProducto(pedido.getId())) {
+                unidades.put((Long) fila[0], ((Number) fila[1]).intValue());
+            }
+            inventarioService.descontarPorProductos(unidades);
+            lineas.set(unidades);
+
             // State Pattern - Cambiar a estado COCINANDO
             pedido.cambiarEstado(Pedido.EstadoPedido.COCINANDO);
-            
-            // Command Pattern - Ejecutar comando de envío al cocinero
-            ejecutarComandoEnviarACocinero(pedido);
-            
-            Pedido guardado = pedidoRepo.save(pedido);
-            
+            return pedido;
+        }));
+
+        // Efectos solo tras confirmar la transacción (un reintento nunca notifica dos veces)
+        resultado.ifPresent(guardado -> {
+            metricas.transicion(Pedido.EstadoPedido.RECIBIDO, Pedido.EstadoPedido.COCINANDO, guardado.isPagado());
+
             // Memento Pattern - Guardar snapshot del estado actual
-            historial.add(new PedidoMemento(guardado));
-            
-            // Observer Pattern - Notificar cambio de estado a todos los observadores (meseros)
-            notificarObservadores(guardado, guardado.obtenerEstadoActual());
+            historial.registrar(guardado, "ENVIADO_COCINA");
+
+            // Repartir las líneas entre las estaciones de la cocina
+            cocina.encolar(guardado.getId(), lineas.get());
             
-            return guardado;
+            // Command Pattern - Ejecutar comando de envío al cocinero
+            // (Mediator + Observer: el evento llega al cocinero y a los meseros por el bus)
+            ejecutarComandoEnviarACocinero(guardado);
         });
+        evento.terminar(resultado.orElse(null));
+        return resultado;
     }
 
     // State Pattern - Cambiar estado del pedido: COCINANDO -> TERMINADO
     public Optional<Pedido> terminarPedido(Long idPedido) {
-        return pedidoRepo.findById(idPedido).map(pedido -> {
+        PedidoEvento evento = PedidoEvento.iniciar(PedidoEvento.TERMINAR, idPedido);
+        Optional<Pedido> resultado = conReintento(() -> pedidoRepo.findById(idPedido).map(pedido -> {
             // State Pattern - Validar transición de estado antes de cambiar
             if (!pedido.puedeTerminar()) {
-                throw new RuntimeException("El pedido no puede terminar desde el estado: " + pedido.getEstado());
+                throw new TransicionInvalidaException("El pedido no puede terminar desde el estado: " + pedido.getEstado());
             }
             
             // State Pattern - Cambiar a estado TERMINADO
             pedido.cambiarEstado(Pedido.EstadoPedido.TERMINADO);
-            
-            // Mediator Pattern - Notificar a través del mediador que el pedido está listo
-            mediador.pedidoListo(pedido);
-            
-            Pedido guardado = pedidoRepo.save(pedido);
-            
+            return pedido;
+        }));
+
+        resultado.ifPresent(guardado -> {
+            metricas.transicion(Pedido.EstadoPedido.COCINANDO, Pedido.EstadoPedido.TERMINADO, guardado.isPagado());
+
             // Memento Pattern - Guardar snapshot del estado actual
-            historial.add(new PedidoMemento(guardado));
-            
-            // Observer Pattern - Notificar cambio de estado a todos los observadores (meseros)
-            notificarObservadores(guardado, guardado.obtenerEstadoActual());
+            historial.registrar(guardado, "TERMINADO");
+
+            // Terminado a mano: las líneas que seguían en espera salen de las colas
+            cocina.retirar(guardado.getId());
             
-            return guardado;
+            // Mediator Pattern - Notificar a través del mediador que el pedido está listo
+            // (Observer: los meseros reciben el mismo evento por el bus)
+            mediador.pedidoListo(guardado);
         });
+        evento.terminar(resultado.orElse(null));
+        return resultado;
     }
 
     public Optional<Pedido> marcarPagado(Long idPedido) {
-        return pedidoRepo.findById(idPedido).map(p -> {
+        PedidoEvento evento = PedidoEvento.iniciar(PedidoEvento.PAGAR, idPedido);
+        AtomicBoolean pagadoAhora = new AtomicBoolean();
+        Optional<Pedido> resultado = conReintento(() -> pedidoRepo.findById(idPedido).map(p -> {
+            // Pagar un pedido ya pagado no cambia nada (no se repiten snapshot ni notificación)
+            pagadoAhora.set(!p.isPagado());
             p.setPagado(true);
-            Pedido guardado = pedidoRepo.save(p);
-            
+            // Rollups de ventas en la misma transacción: se confirman (o revierten) junto con el pago
+            if (pagadoAhora.get()) {
+                reportes.registrarPago(p);
+            }
+            return p;
+        }));
+
+        resultado.filter(p -> pagadoAhora.get()).ifPresent(guardado -> {
+            metricas.pagado(guardado.getEstado());
+
             // Memento Pattern - Guardar estado
-            historial.add(new PedidoMemento(guardado));
+            historial.registrar(guardado, "PAGADO");
             
-            return guardado;
+            // Observer Pattern - Notificar pago
+            notificarObservadores(guardado, EventoPedido.Tipo.PAGADO);
         });
+        evento.terminar(resultado.orElse(null));
+        return resultado;
     }
 
-    public List<Pedido> pedidosEntre(LocalDateTime desde, LocalDateTime hasta) {
-        return pedidoRepo.findByFechaHoraBetween(desde, hasta);
+    // La cocina completó la última línea: COCINANDO -> TERMINADO sin intervención manual.
+    // Cualquier otro fallo llega al planificador, que lo registra y reintenta más tarde
+    private void terminarPorCocina(Long idPedido) {
+        try {
+            terminarPedido(idPedido);
+        } catch (TransicionInvalidaException e) {
+            // Otro camino ya lo terminó (o dejó de estar en cocina): no hay nada que hacer
+            log.debug("Pedido #{} no se terminó automáticamente: {}", idPedido, e.getMessage());
+        }
     }
 
-    // Memento Pattern - Obtener historial
-    public void mostrarHistorial() {
-        System.out.println("\n=== HISTORIAL DE PEDIDOS (Memento) ===");
-        if (historial.isEmpty()) {
-            System.out.println("No hay pedidos en el historial");
-        } else {
-            historial.forEach(m -> System.out.println("  📋 " + m));
+    // Control de concurrencia optimista: cada intento es una transacción nueva que vuelve a leer
+    // el pedido; si otro hilo lo modificó (@Version) o la base de datos abortó la transacción por
+    // un bloqueo (descuento de inventario), se reintenta un número acotado de veces.
+    // Cada intento toma un permiso del bulkhead para toda su transacción y lo suelta antes de la espera
+    private <T> T conReintento(Supplier<T> operacion) {
+        Supplier<T> enTransaccion = () -> transaccion.execute(status -> operacion.get());
+        for (int intento = 1; ; intento++) {
+            try {
+                return bulkhead != null ? bulkhead.ejecutar(enTransaccion) : enTransaccion.get();
+            } catch (ConcurrencyFailureException e) {
+                if (intento >= maxReintentos) {
+                    throw e;
+                }
+                log.debug("Conflicto de concurrencia en pedido, reintento {}/{}", intento, maxReintentos);
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(1_000_000L, 5_000_000L) * intento);
+            }
         }
-        System.out.println("Total de pedidos guardados: " + historial.size() + "\n");
     }
 
-}
+    @Transactional(readOnly = true)
+    public PaginaPedidos pedidosEntre(LocalDateTime desde, LocalDateTime hasta, String cursor, int tamano) {
+        int limite = Math.min(Math.max(tamano, 1), tamanoPaginaMaximo);
+        LocalDateTime fechaCursor = desde;
+        long idCursor = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificarCursor(cursor);
+            fechaCursor = LocalDateTime.parse(partes[0]);
+            idCursor = Long.parseLong(partes[1]);
+        }
+
+        // Se pide un elemento de más para saber si existe una página siguiente
+        List<Long> ids = pedidoRepo.findIdsPagina(desde, hasta, fechaCursor, idCursor, Limit.of(limite + 1));
+        boolean hayMas = ids.size() > limite;
+        if (hayMas) {
+            ids = ids.subList(0, limite);
+        }
+        List<Pedido> pedidos = ids.isEmpty()
+                ? List.of()
+                : pedidoRepo.findConDetallesByIdInOrderByFechaHoraAscIdAsc(ids);
+
+        String siguiente = hayMas && !pedidos.isEmpty() ? codificarCursor(pedidos.get(pedidos.size() - 1)) : null;
+        return new PaginaPedidos(pedidos, siguiente);
+    }
+
+    // Exportación en streaming: cada fila se entrega y se desvincula del contexto (memoria constante)
+    @Transactional(readOnly = true)
+    public void exportarEntre(LocalDateTime desde, LocalDateTime hasta, Consumer<PedidoResumen> consumidor) {
+        try (Stream<Pedido> pedidos = pedidoRepo.streamEntre(desde, hasta)) {
+            pedidos.forEach(p -> {
+                consumidor.accept(PedidoResumen.de(p));
+                entityManager.detach(p);
+            });
+        }
+    }
+
+    private static String codificarCursor(Pedido ultimo) {
+        String valor = ultimo.getFechaHora() + "|" + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
 
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\|");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            LocalDateTime.parse(partes[0]);
+            Long.parseLong(partes[1]);
+            return partes;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    // Memento Pattern - Snapshots más recientes (buffer en memoria)
+    public List<HistorialPedido> historialReciente(int limite) {
+        return historial.recientes(limite);
+    }
+
+    // Memento Pattern - Historial persistido de un pedido, paginado. Sin transacción propia: lo pendiente
+    // se vuelca (con espera acotada) antes de que la lectura tome su conexión
+    public Page<HistorialPedido> historialDePedido(Long idPedido, int pagina, int tamano) {
+        historial.volcarAntesDeLeer();
+        return historial.historialDePedido(idPedido, pagina, tamano);
+    }
+
+}
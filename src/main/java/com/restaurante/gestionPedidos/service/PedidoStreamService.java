@@ -0,0 +1,206 @@
+package com.restaurante.gestionPedidos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.config.sse.ConexionSse;
+import com.restaurante.config.sse.GrupoConexionesSse;
+import com.restaurante.gestionPedidos.model.EventoPedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Observer Pattern - Stream SSE de cambios de estado de pedidos para meseros y pantallas de cocina.
+ * Se alimenta del bus de notificaciones; las conexiones ociosas no ocupan hilos (servlet asíncrono)
+ * y los eventos recientes se guardan para reenviarlos a partir de Last-Event-ID.
+ * Los despachadores del bus solo encolan: cada conexión tiene su cola acotada y la vacía su propio
+ * envío en un grupo de hilos aparte (GrupoConexionesSse); un cliente que no la vacía a tiempo se desconecta.
+ */
+@Service
+public class PedidoStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(PedidoStreamService.class);
+
+    // Un evento serializado una sola vez y compartido por todas las conexiones (json null si falló)
+    private record EventoSerializado(EventoPedido evento, String json) {
+    }
+
+    // Conexión SSE con sus filtros opcionales; lo anterior a desde (tramo contiguo al conectar) no
+    // le llega por la difusión en vivo, solo por el reenvío
+    private static class Conexion extends ConexionSse {
+        private final Pedido.EstadoPedido estado;
+        private final String mesero;
+        private final long desde;
+
+        Conexion(GrupoConexionesSse<Conexion> grupo, long id, Pedido.EstadoPedido estado, String mesero, long desde) {
+            super(grupo, id);
+            this.estado = estado;
+            this.mesero = mesero;
+            this.desde = desde;
+        }
+
+        boolean acepta(EventoPedido evento) {
+            return (estado == null || estado == evento.getEstado())
+                    && (mesero == null || mesero.equalsIgnoreCase(evento.getNombreMesero()));
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final GrupoConexionesSse<Conexion> conexiones;
+
+    // Buffer circular de eventos recientes indexado por secuencia (para Last-Event-ID)
+    private final AtomicReferenceArray<EventoSerializado> recientes;
+
+    // Los despachadores del bus entregan en paralelo (un pedido por despachador), así que las
+    // secuencias llegan desordenadas. Se difunden y se marcan para reenvío solo en tramos contiguos:
+    // todo evento con secuencia <= contiguaHasta ya está en recientes y en porDifundir
+    private final Object orden = new Object();
+    private final TreeMap<Long, EventoSerializado> fueraDeOrden = new TreeMap<>();
+    private long contiguaHasta;
+
+    // Tramo contiguo pendiente de encolar en las conexiones. Se encola fuera del lock de orden y
+    // con un solo hilo a la vez (difusion): los demás despachadores no esperan, dejan sus eventos
+    // y sigue quien tiene el lock, así cada conexión los recibe en orden de secuencia
+    private final Queue<EventoSerializado> porDifundir = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock difusion = new ReentrantLock();
+
+    public PedidoStreamService(NotificacionBus bus,
+                               ObjectMapper objectMapper,
+                               @Value("${app.stream.eventos-reenvio:1000}") int eventosReenvio,
+                               @Value("${app.stream.max-conexiones:5000}") int maxConexiones,
+                               @Value("${app.stream.cola-por-conexion:1000}") int colaPorConexion,
+                               @Value("${app.stream.hilos-envio:4}") int hilosEnvio,
+                               @Value("${app.stream.latido-segundos:20}") long latidoSegundos) {
+        this.objectMapper = objectMapper;
+        // Un reenvío completo (Last-Event-ID) siempre cabe en la cola de la conexión
+        this.conexiones = new GrupoConexionesSse<>("pedidos-stream", maxConexiones,
+                Math.max(colaPorConexion, eventosReenvio) + 1, hilosEnvio, latidoSegundos);
+        this.recientes = new AtomicReferenceArray<>(eventosReenvio);
+        bus.suscribir("stream-sse", this::difundir);
+        // Lo publicado antes de suscribirse no llega: el tramo contiguo empieza después
+        synchronized (orden) {
+            contiguaHasta = bus.ultimaSecuencia();
+            fueraDeOrden.headMap(contiguaHasta, true).clear();
+            avanzar();
+        }
+        difundirPendientes();
+    }
+
+    // Abrir una conexión; si llega Last-Event-ID se reenvían primero los eventos perdidos
+    public SseEmitter conectar(Pedido.EstadoPedido estado, String mesero, Long ultimoEventoId) {
+        // Con la difusión detenida: lo anterior al tramo contiguo se reenvía y lo siguiente llega en vivo
+        Conexion conexion;
+        difusion.lock();
+        try {
+            synchronized (orden) {
+                long desde = contiguaHasta;
+                conexion = conexiones.abrir(id -> new Conexion(conexiones, id, estado, mesero, desde));
+            }
+            if (ultimoEventoId != null) {
+                reenviar(conexion, ultimoEventoId);
+            }
+        } finally {
+            difusion.unlock();
+        }
+        // Lo que quedó en porDifundir mientras se reenviaba
+        difundirPendientes();
+        return conexion.getEmitter();
+    }
+
+    public int conexionesActivas() {
+        return conexiones.activas();
+    }
+
+    private void reenviar(Conexion conexion, long ultimoEventoId) {
+        long hasta = conexion.desde;
+        long desde = Math.max(ultimoEventoId + 1, hasta - recientes.length() + 1);
+        for (long seq = desde; seq <= hasta; seq++) {
+            EventoSerializado e = recientes.get((int) (seq % recientes.length()));
+            if (e != null && e.json() != null && e.evento().getSecuencia() == seq && conexion.acepta(e.evento())) {
+                if (!conexion.encolar(evento(e))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Observer Pattern - Suscriptor del bus: ordena el evento por secuencia y difunde el tramo contiguo
+    private void difundir(EventoPedido evento) {
+        String json = null;
+        try {
+            json = objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            // Igual ocupa su secuencia: sin ella el tramo contiguo no avanzaría
+            log.warn("No se pudo serializar el evento #{}", evento.getSecuencia(), e);
+        }
+        synchronized (orden) {
+            if (evento.getSecuencia() <= contiguaHasta) {
+                return;
+            }
+            fueraDeOrden.put(evento.getSecuencia(), new EventoSerializado(evento, json));
+            if (fueraDeOrden.size() > recientes.length()) {
+                // Un hueco que ya no se llenará (evento perdido): se salta para no detener el stream
+                log.warn("Stream de pedidos: se saltan las secuencias {}..{}", contiguaHasta + 1, fueraDeOrden.firstKey() - 1);
+                contiguaHasta = fueraDeOrden.firstKey() - 1;
+            }
+            avanzar();
+        }
+        difundirPendientes();
+    }
+
+    // Con el lock de orden: pasa a porDifundir los eventos que siguen al tramo contiguo
+    private void avanzar() {
+        EventoSerializado siguiente;
+        while ((siguiente = fueraDeOrden.remove(contiguaHasta + 1)) != null) {
+            contiguaHasta++;
+            recientes.set((int) (contiguaHasta % recientes.length()), siguiente);
+            if (siguiente.json() != null) {
+                porDifundir.offer(siguiente);
+            }
+        }
+    }
+
+    // Sin el lock de orden: encola el tramo contiguo en las conexiones abiertas. Si otro hilo ya está
+    // difundiendo se vuelve enseguida; ese hilo revisa porDifundir otra vez al soltar el lock
+    private void difundirPendientes() {
+        while (!porDifundir.isEmpty() && difusion.tryLock()) {
+            try {
+                EventoSerializado siguiente;
+                while ((siguiente = porDifundir.poll()) != null) {
+                    EventoPedido evento = siguiente.evento();
+                    for (Conexion conexion : conexiones.conexiones()) {
+                        if (evento.getSecuencia() > conexion.desde && conexion.acepta(evento)) {
+                            conexion.encolar(evento(siguiente));
+                        }
+                    }
+                }
+            } finally {
+                difusion.unlock();
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder evento(EventoSerializado e) {
+        return SseEmitter.event()
+                .id(String.valueOf(e.evento().getSecuencia()))
+                .name(e.evento().getTipo().name())
+                .data(e.json(), MediaType.APPLICATION_JSON);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        conexiones.cerrar();
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.restaurante.gestionPedidos.service;
+
+/**
+ * State Pattern - El pedido no admite el cambio de estado pedido desde su estado actual.
+ */
+public class TransicionInvalidaException extends IllegalStateException {
+
+    public TransicionInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+
+}
@@ -2,36 +2,78 @@ package com.restaurante.gestionProductos.controller;
 
 import com.restaurante.gestionProductos.model.Producto;
 import com.restaurante.gestionProductos.service.ProductoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/productos")
 public class ProductoController {
 
     private final ProductoService service;
+    private final CacheControl cacheControl;
 
-    public ProductoController(ProductoService service) {
+    public ProductoController(ProductoService service,
+                              @Value("${app.catalogo.max-age-segundos:0}") long maxAgeSegundos) {
         this.service = service;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSegundos)).mustRevalidate();
+    }
+
+    // Petición condicional: si el ETag del cliente coincide con la versión actual del catálogo
+    // se responde 304 sin leer el catálogo ni serializar JSON
+    private <T> ResponseEntity<T> condicional(WebRequest request, String recurso, Supplier<T> cuerpo) {
+        String etag = "\"" + recurso + "-" + service.etagCatalogo() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(cuerpo.get());
     }
 
     @GetMapping
-    public List<Producto> listarTodos() {
-        return service.listarTodos();
+    public ResponseEntity<List<Producto>> listarTodos(WebRequest request) {
+        return condicional(request, "productos", service::listarTodos);
     }
 
     @GetMapping("/disponibles")
-    public List<Producto> listarDisponibles() {
-        return service.listarDisponibles();
+    public ResponseEntity<List<Producto>> listarDisponibles(WebRequest request) {
+        return condicional(request, "disponibles", service::listarDisponibles);
+    }
+
+    @GetMapping("/categoria/{categoria}")
+    public ResponseEntity<List<Producto>> listarPorCategoria(@PathVariable String categoria, WebRequest request) {
+        // Cada categoría es un recurso distinto: su ETag no puede coincidir con el de otra
+        return condicional(request, "categoria-" + clave(categoria), () -> service.listarPorCategoria(categoria));
+    }
+
+    // Valor del path apto para un ETag entre comillas (sin comillas, espacios ni caracteres no ASCII)
+    private static String clave(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    // Métricas de la caché del catálogo
+    @GetMapping("/cache/metricas")
+    public Map<String, Object> metricasCache() {
+        return service.metricasCache();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Producto> obtenerPorId(@PathVariable Long id) {
-        return service.buscarPorId(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Producto> obtenerPorId(@PathVariable Long id, WebRequest request) {
+        Optional<Producto> producto = service.buscarPorId(id);
+        if (producto.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return condicional(request, "producto-" + id, producto::get);
     }
 
     @PostMapping
@@ -58,9 +100,8 @@ public class ProductoController {
 
     // Facade + Builder - Mostrar menú completo
     @GetMapping("/menu")
-    public ResponseEntity<String> mostrarMenu() {
-        service.mostrarMenu();
-        return ResponseEntity.ok("Menú mostrado (ver logs del servidor)");
+    public ResponseEntity<Map<String, List<Producto>>> mostrarMenu(WebRequest request) {
+        return condicional(request, "menu", service::obtenerMenu);
     }
 
     // Abstract Factory - Crear bebida caliente
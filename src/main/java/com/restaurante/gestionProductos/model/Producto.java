@@ -1,11 +1,17 @@
 package com.restaurante.gestionProductos.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "productos")
+@BatchSize(size = 50) // Carga por lotes de DetallePedido.producto cuando no viene en un fetch join
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "productos")
 public class Producto {
 
     @Id
@@ -1,15 +1,22 @@
 package com.restaurante.gestionProductos.repository;
 
 import com.restaurante.gestionProductos.model.Producto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface ProductoRepository extends JpaRepository<Producto, Long> {
 
+    // Resultados en la caché de consultas (ids); Hibernate la invalida con cada escritura en productos
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-productos")})
     List<Producto> findByDisponibleTrue();
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-productos")})
     List<Producto> findByCategoria(String categoria);
 
 }
-
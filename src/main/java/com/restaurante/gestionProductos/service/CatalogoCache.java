@@ -0,0 +1,137 @@
+package com.restaurante.gestionProductos.service;
+
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.repository.ProductoRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Caché de lectura del catálogo de productos.
+ * Mantiene un snapshot inmutable (por id, por categoría y disponibles) que se reemplaza de forma
+ * atómica; cualquier escritura en ProductoService lo invalida y la siguiente lectura lo reconstruye.
+ */
+@Component
+public class CatalogoCache {
+
+    // Snapshot inmutable del catálogo completo
+    private static final class Catalogo {
+        private final List<Producto> todos;
+        private final List<Producto> disponibles;
+        private final Map<Long, Producto> porId;
+        private final Map<String, List<Producto>> porCategoria;
+
+        Catalogo(List<Producto> productos) {
+            this.todos = List.copyOf(productos);
+            this.disponibles = productos.stream().filter(Producto::isDisponible).toList();
+
+            Map<Long, Producto> ids = new HashMap<>(productos.size() * 2);
+            productos.forEach(p -> ids.put(p.getId(), p));
+            this.porId = Collections.unmodifiableMap(ids);
+
+            this.porCategoria = Collections.unmodifiableMap(productos.stream()
+                    .filter(p -> p.getCategoria() != null)
+                    .collect(Collectors.groupingBy(Producto::getCategoria, Collectors.toUnmodifiableList())));
+        }
+    }
+
+    private final ProductoRepository repo;
+
+    private final AtomicReference<Catalogo> actual = new AtomicReference<>();
+    private final AtomicLong generacion = new AtomicLong();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder reconstrucciones = new LongAdder();
+
+    public CatalogoCache(ProductoRepository repo) {
+        this.repo = repo;
+    }
+
+    public List<Producto> todos() {
+        return catalogo().todos;
+    }
+
+    public List<Producto> disponibles() {
+        return catalogo().disponibles;
+    }
+
+    public Optional<Producto> porId(Long id) {
+        return Optional.ofNullable(catalogo().porId.get(id));
+    }
+
+    // Resolver varios productos con una sola lectura del snapshot (faltantes se omiten)
+    public Map<Long, Producto> porIds(Collection<Long> ids) {
+        Catalogo c = catalogo();
+        Map<Long, Producto> encontrados = new HashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            Producto p = c.porId.get(id);
+            if (p != null) {
+                encontrados.put(id, p);
+            }
+        }
+        return encontrados;
+    }
+
+    public List<Producto> porCategoria(String categoria) {
+        return catalogo().porCategoria.getOrDefault(categoria, List.of());
+    }
+
+    // Versión del catálogo: aumenta con cada escritura (base de los ETag)
+    public long version() {
+        return generacion.get();
+    }
+
+    // Invalidar tras cualquier escritura; la siguiente lectura reconstruye el snapshot
+    public void invalidar() {
+        generacion.incrementAndGet();
+        actual.set(null);
+    }
+
+    public Map<String, Object> metricas() {
+        Catalogo c = actual.get();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("aciertos", aciertos.sum());
+        m.put("fallos", fallos.sum());
+        m.put("reconstrucciones", reconstrucciones.sum());
+        m.put("tamano", c != null ? c.todos.size() : 0);
+        m.put("generacion", generacion.get());
+        return m;
+    }
+
+    private Catalogo catalogo() {
+        Catalogo c = actual.get();
+        if (c != null) {
+            aciertos.increment();
+            return c;
+        }
+        fallos.increment();
+        return reconstruir();
+    }
+
+    // Solo un hilo reconstruye; si hubo una escritura durante la carga, el snapshot no se publica
+    private synchronized Catalogo reconstruir() {
+        Catalogo c = actual.get();
+        if (c != null) {
+            return c;
+        }
+        long gen = generacion.get();
+        Catalogo nuevo = new Catalogo(repo.findAll());
+        reconstrucciones.increment();
+        if (generacion.get() == gen) {
+            actual.compareAndSet(null, nuevo);
+        }
+        return nuevo;
+    }
+
+}
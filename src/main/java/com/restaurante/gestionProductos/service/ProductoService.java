@@ -6,7 +6,10 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,10 +18,15 @@ import java.util.Optional;
 @Service
 public class ProductoService {
 
+    // Distingue las versiones del catálogo entre reinicios (el contador vuelve a cero)
+    private static final String ID_ARRANQUE = Long.toString(System.currentTimeMillis(), 36);
+
     private final ProductoRepository repo;
+    private final CatalogoCache catalogo;
 
-    public ProductoService(ProductoRepository repo) {
+    public ProductoService(ProductoRepository repo, CatalogoCache catalogo) {
         this.repo = repo;
+        this.catalogo = catalogo;
     }
 
     // ========== PATRÓN SINGLETON ==========
@@ -180,17 +188,41 @@ public class ProductoService {
         return decorado;
     }
 
-    // Facade Pattern - Métodos simplificados para interactuar con productos
+    // Facade Pattern - Métodos simplificados para interactuar con productos (lecturas desde la caché)
     public List<Producto> listarTodos() {
-        return repo.findAll();
+        return catalogo.todos();
     }
 
     public List<Producto> listarDisponibles() {
-        return repo.findByDisponibleTrue();
+        return catalogo.disponibles();
+    }
+
+    public List<Producto> listarPorCategoria(String categoria) {
+        return catalogo.porCategoria(categoria);
     }
 
     public Optional<Producto> buscarPorId(Long id) {
-        return repo.findById(id);
+        return catalogo.porId(id);
+    }
+
+    public Map<Long, Producto> buscarPorIds(Collection<Long> ids) {
+        return catalogo.porIds(ids);
+    }
+
+    public Map<String, Object> metricasCache() {
+        return catalogo.metricas();
+    }
+
+    // ETag fuerte del catálogo: instancia del servidor + versión (cambia con cada escritura)
+    public String etagCatalogo() {
+        return ID_ARRANQUE + "-" + catalogo.version();
+    }
+
+    // Toda escritura del catálogo pasa por aquí para invalidar la caché
+    private Producto guardar(Producto p) {
+        Producto guardado = repo.save(p);
+        catalogo.invalidar();
+        return guardado;
     }
 
     // Builder Pattern - Construir menú paso a paso usando el builder
@@ -209,37 +241,37 @@ public class ProductoService {
     // Abstract Factory Pattern - Crear productos usando factory
     public Producto crearBebidaCaliente() {
         ProductoFactory factory = ProductoFactory.obtenerInstancia();
-        return repo.save(factory.crearBebidaCaliente());
+        return guardar(factory.crearBebidaCaliente());
     }
 
     public Producto crearBebidaFria() {
         ProductoFactory factory = ProductoFactory.obtenerInstancia();
-        return repo.save(factory.crearBebidaFria());
+        return guardar(factory.crearBebidaFria());
     }
 
     public Producto crearPlatoCaliente() {
         ProductoFactory factory = ProductoFactory.obtenerInstancia();
-        return repo.save(factory.crearPlatoCaliente());
+        return guardar(factory.crearPlatoCaliente());
     }
 
     public Producto crearPlatoFrio() {
         ProductoFactory factory = ProductoFactory.obtenerInstancia();
-        return repo.save(factory.crearPlatoFrio());
+        return guardar(factory.crearPlatoFrio());
     }
 
     public Producto crearPostreCaliente() {
         ProductoFactory factory = ProductoFactory.obtenerInstancia();
-        return repo.save(factory.crearPostreCaliente());
+        return guardar(factory.crearPostreCaliente());
     }
 
     public Producto crearPostreFrio() {
         ProductoFactory factory = ProductoFactory.obtenerInstancia();
-        return repo.save(factory.crearPostreFrio());
+        return guardar(factory.crearPostreFrio());
     }
 
     public Producto crear(Producto p) {
         p.setId(null);
-        return repo.save(p);
+        return guardar(p);
     }
 
     public Optional<Producto> actualizar(Long id, Producto datos) {
@@ -248,7 +280,7 @@ public class ProductoService {
             p.setCategoria(datos.getCategoria());
             p.setPrecio(datos.getPrecio());
             p.setDisponible(datos.isDisponible());
-            return repo.save(p);
+            return guardar(p);
         });
     }
 
@@ -260,7 +292,7 @@ public class ProductoService {
         Producto decorado = aplicarDescuento(producto, porcentajeDescuento);
         decorado.setId(producto.getId());
         
-        return repo.save(decorado);
+        return guardar(decorado);
     }
 
     // Decorator Pattern - Agregar extra a un producto
@@ -271,26 +303,20 @@ public class ProductoService {
         Producto decorado = agregarExtra(producto, extra, precioExtra);
         decorado.setId(producto.getId());
         
-        return repo.save(decorado);
+        return guardar(decorado);
     }
 
     public void eliminar(Long id) {
         repo.deleteById(id);
+        catalogo.invalidar();
     }
 
-    // Facade Pattern - Método simplificado para mostrar menú al cliente
-    public void mostrarMenu() {
-        System.out.println("\n=== MENÚ DEL DÍA (Builder + Factory) ===");
-        List<Producto> menu = construirMenu();
-        menu.forEach(p -> 
-            System.out.println("- " + p.getNombre() + " ($" + p.getPrecio() + ") - " + p.getCategoria())
-        );
-        
-        System.out.println("\n--- Productos Disponibles en Base de Datos ---");
-        listarDisponibles().forEach(p -> 
-            System.out.println("✓ " + p.getNombre() + " - $" + p.getPrecio())
-        );
-        System.out.println();
+    // Facade Pattern - Método simplificado para obtener el menú del cliente
+    public Map<String, List<Producto>> obtenerMenu() {
+        Map<String, List<Producto>> menu = new LinkedHashMap<>();
+        menu.put("menuDelDia", construirMenu());
+        menu.put("disponibles", listarDisponibles());
+        return menu;
     }
 
 }
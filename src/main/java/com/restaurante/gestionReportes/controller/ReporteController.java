@@ -0,0 +1,77 @@
+package com.restaurante.gestionReportes.controller;
+
+import com.restaurante.gestionReportes.model.ResultadoReconstruccion;
+import com.restaurante.gestionReportes.model.VentaCategoria;
+import com.restaurante.gestionReportes.model.VentaDia;
+import com.restaurante.gestionReportes.model.VentaHora;
+import com.restaurante.gestionReportes.model.VentaProducto;
+import com.restaurante.gestionReportes.service.ReporteVentasService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reportes")
+public class ReporteController {
+
+    private final ReporteVentasService service;
+
+    public ReporteController(ReporteVentasService service) {
+        this.service = service;
+    }
+
+    // Ventas por hora en [desde, hasta)
+    @GetMapping("/ventas/por-hora")
+    public List<VentaHora> ventasPorHora(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        return service.ventasPorHora(desde, hasta);
+    }
+
+    // Ventas por día, ambos extremos incluidos
+    @GetMapping("/ventas/por-dia")
+    public List<VentaDia> ventasPorDia(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return service.ventasPorDia(desde, hasta);
+    }
+
+    @GetMapping("/productos/mas-vendidos")
+    public List<VentaProducto> masVendidos(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "10") int limite) {
+        return service.masVendidos(desde, hasta, limite);
+    }
+
+    @GetMapping("/categorias")
+    public List<VentaCategoria> ventasPorCategoria(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return service.ventasPorCategoria(desde, hasta);
+    }
+
+    // Recalcular los rollups desde los pedidos pagados (sin fechas: todo el histórico)
+    @PostMapping("/reconstruir")
+    public ResultadoReconstruccion reconstruir(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return service.reconstruir(desde, hasta);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> peticionInvalida(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> enCurso(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+}
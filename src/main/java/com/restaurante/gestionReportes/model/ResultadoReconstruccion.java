@@ -0,0 +1,44 @@
+package com.restaurante.gestionReportes.model;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen de una reconstrucción de rollups a partir de los pedidos pagados
+ */
+public class ResultadoReconstruccion {
+
+    private final LocalDate desde;
+    private final LocalDate hasta;
+    private final int dias;
+    private final long pedidos;
+    private final long duracionMs;
+
+    public ResultadoReconstruccion(LocalDate desde, LocalDate hasta, int dias, long pedidos, long duracionMs) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.dias = dias;
+        this.pedidos = pedidos;
+        this.duracionMs = duracionMs;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public int getDias() {
+        return dias;
+    }
+
+    public long getPedidos() {
+        return pedidos;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+}
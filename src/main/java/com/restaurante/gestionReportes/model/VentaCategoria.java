@@ -0,0 +1,40 @@
+package com.restaurante.gestionReportes.model;
+
+import com.restaurante.gestionPedidos.model.Dinero;
+
+import java.math.BigDecimal;
+
+/**
+ * Ventas acumuladas de una categoría en un rango de días
+ */
+public class VentaCategoria {
+
+    private final String categoria;
+    private final long pedidos;
+    private final long unidades;
+    private final long totalCentavos;
+
+    public VentaCategoria(String categoria, long pedidos, long unidades, long totalCentavos) {
+        this.categoria = categoria;
+        this.pedidos = pedidos;
+        this.unidades = unidades;
+        this.totalCentavos = totalCentavos;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public long getPedidos() {
+        return pedidos;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public BigDecimal getTotal() {
+        return Dinero.desdeCentavos(totalCentavos);
+    }
+
+}
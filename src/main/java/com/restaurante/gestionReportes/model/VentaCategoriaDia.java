@@ -0,0 +1,74 @@
+package com.restaurante.gestionReportes.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Rollup de ventas pagadas por categoría y día (pedidos = pedidos con algún producto de la categoría)
+ */
+@Entity
+@Table(name = "ventas_categoria_dia")
+@IdClass(VentaCategoriaDia.Clave.class)
+public class VentaCategoriaDia {
+
+    public static class Clave implements Serializable {
+        private LocalDate dia;
+        private String categoria;
+
+        public Clave() {}
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Clave c && Objects.equals(dia, c.dia) && Objects.equals(categoria, c.categoria);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dia, categoria);
+        }
+    }
+
+    @Id
+    private LocalDate dia;
+
+    @Id
+    private String categoria;
+
+    private int pedidos;
+    private long unidades;
+    private long totalCentavos;
+
+    public VentaCategoriaDia() {}
+
+    public VentaCategoriaDia(LocalDate dia, String categoria, int pedidos, long unidades, long totalCentavos) {
+        this.dia = dia;
+        this.categoria = categoria;
+        this.pedidos = pedidos;
+        this.unidades = unidades;
+        this.totalCentavos = totalCentavos;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public int getPedidos() {
+        return pedidos;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.restaurante.gestionReportes.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.restaurante.gestionPedidos.model.Dinero;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup de ventas pagadas por día
+ */
+@Entity
+@Table(name = "ventas_dia")
+public class VentaDia {
+
+    @Id
+    private LocalDate dia;
+
+    private int pedidos;
+    private long unidades;
+    private long totalCentavos;
+
+    public VentaDia() {}
+
+    public VentaDia(LocalDate dia, int pedidos, long unidades, long totalCentavos) {
+        this.dia = dia;
+        this.pedidos = pedidos;
+        this.unidades = unidades;
+        this.totalCentavos = totalCentavos;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public int getPedidos() {
+        return pedidos;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public BigDecimal getTotal() {
+        return Dinero.desdeCentavos(totalCentavos);
+    }
+
+    @JsonIgnore
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.restaurante.gestionReportes.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.restaurante.gestionPedidos.model.Dinero;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Rollup de ventas pagadas por hora (inicio de la hora de los pedidos)
+ */
+@Entity
+@Table(name = "ventas_hora")
+public class VentaHora {
+
+    @Id
+    private LocalDateTime hora;
+
+    private int pedidos;
+    private long unidades;
+    private long totalCentavos;
+
+    public VentaHora() {}
+
+    public VentaHora(LocalDateTime hora, int pedidos, long unidades, long totalCentavos) {
+        this.hora = hora;
+        this.pedidos = pedidos;
+        this.unidades = unidades;
+        this.totalCentavos = totalCentavos;
+    }
+
+    public LocalDateTime getHora() {
+        return hora;
+    }
+
+    public int getPedidos() {
+        return pedidos;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public BigDecimal getTotal() {
+        return Dinero.desdeCentavos(totalCentavos);
+    }
+
+    @JsonIgnore
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.restaurante.gestionReportes.model;
+
+import com.restaurante.gestionPedidos.model.Dinero;
+
+import java.math.BigDecimal;
+
+/**
+ * Ventas acumuladas de un producto en un rango de días (reporte de más vendidos)
+ */
+public class VentaProducto {
+
+    private final Long idProducto;
+    private final String nombre;
+    private final String categoria;
+    private final long pedidos;
+    private final long unidades;
+    private final long totalCentavos;
+
+    public VentaProducto(Long idProducto, String nombre, String categoria,
+                         long pedidos, long unidades, long totalCentavos) {
+        this.idProducto = idProducto;
+        this.nombre = nombre;
+        this.categoria = categoria;
+        this.pedidos = pedidos;
+        this.unidades = unidades;
+        this.totalCentavos = totalCentavos;
+    }
+
+    public Long getIdProducto() {
+        return idProducto;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public long getPedidos() {
+        return pedidos;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public BigDecimal getTotal() {
+        return Dinero.desdeCentavos(totalCentavos);
+    }
+
+}
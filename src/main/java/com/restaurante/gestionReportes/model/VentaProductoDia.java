@@ -0,0 +1,75 @@
+package com.restaurante.gestionReportes.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Rollup de ventas pagadas por producto y día (pedidos = pedidos que incluyen el producto)
+ */
+@Entity
+@Table(name = "ventas_producto_dia")
+@IdClass(VentaProductoDia.Clave.class)
+public class VentaProductoDia {
+
+    public static class Clave implements Serializable {
+        private LocalDate dia;
+        private Long productoId;
+
+        public Clave() {}
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Clave c && Objects.equals(dia, c.dia) && Objects.equals(productoId, c.productoId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dia, productoId);
+        }
+    }
+
+    @Id
+    private LocalDate dia;
+
+    @Id
+    @Column(name = "producto_id")
+    private Long productoId;
+
+    private int pedidos;
+    private long unidades;
+    private long totalCentavos;
+
+    public VentaProductoDia() {}
+
+    public VentaProductoDia(LocalDate dia, Long productoId, int pedidos, long unidades, long totalCentavos) {
+        this.dia = dia;
+        this.productoId = productoId;
+        this.pedidos = pedidos;
+        this.unidades = unidades;
+        this.totalCentavos = totalCentavos;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public int getPedidos() {
+        return pedidos;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.restaurante.gestionReportes.repository;
+
+import com.restaurante.gestionReportes.model.VentaDia;
+import com.restaurante.gestionReportes.model.VentaHora;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReporteVentasRepository extends Repository<VentaDia, LocalDate>, ReporteVentasRepositoryCustom {
+
+    // ========== LECTURAS (solo tablas de rollup: el coste depende del rango, no del volumen de pedidos) ==========
+
+    @Query("select v from VentaHora v where v.hora >= :desde and v.hora < :hasta order by v.hora")
+    List<VentaHora> ventasPorHora(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    @Query("select v from VentaDia v where v.dia between :desde and :hasta order by v.dia")
+    List<VentaDia> ventasPorDia(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    // [idProducto, pedidos, unidades, totalCentavos]
+    @Query("select v.productoId, sum(v.pedidos), sum(v.unidades), sum(v.totalCentavos) from VentaProductoDia v " +
+           "where v.dia between :desde and :hasta group by v.productoId " +
+           "order by sum(v.unidades) desc, v.productoId")
+    List<Object[]> masVendidos(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta, Limit limite);
+
+    // [categoria, pedidos, unidades, totalCentavos]
+    @Query("select v.categoria, sum(v.pedidos), sum(v.unidades), sum(v.totalCentavos) from VentaCategoriaDia v " +
+           "where v.dia between :desde and :hasta group by v.categoria " +
+           "order by sum(v.totalCentavos) desc, v.categoria")
+    List<Object[]> ventasPorCategoria(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    // ========== ORIGEN (pedidos pagados) ==========
+
+    // Líneas de un pedido agrupadas por producto: [idProducto, categoria, unidades, totalCentavos]
+    @Query("select d.producto.id, d.producto.categoria, sum(d.cantidad), sum(d.cantidad * d.precioUnitarioCentavos) " +
+           "from DetallePedido d where d.pedido.id = :idPedido group by d.producto.id, d.producto.categoria")
+    List<Object[]> lineasDePedido(@Param("idPedido") Long idPedido);
+
+    // Fechas extremas de los pedidos pagados: [min, max]
+    @Query("select min(p.fechaHora), max(p.fechaHora) from Pedido p where p.pagado = true")
+    List<Object[]> rangoPagados();
+
+    // Pedidos pagados de un día por hora: [hora, pedidos, unidades, totalCentavos]
+    @Query("select extract(hour from p.fechaHora), count(p), sum(p.cantidadItems), sum(p.totalCentavos) " +
+           "from Pedido p where p.pagado = true and p.fechaHora >= :desde and p.fechaHora < :hasta " +
+           "group by extract(hour from p.fechaHora)")
+    List<Object[]> pagadosPorHora(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    // Líneas pagadas de un día por producto: [idProducto, pedidos, unidades, totalCentavos]
+    @Query("select d.producto.id, count(distinct d.pedido.id), sum(d.cantidad), " +
+           "sum(d.cantidad * d.precioUnitarioCentavos) from DetallePedido d " +
+           "where d.pedido.pagado = true and d.pedido.fechaHora >= :desde and d.pedido.fechaHora < :hasta " +
+           "group by d.producto.id")
+    List<Object[]> pagadosPorProducto(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    // Líneas pagadas de un día por categoría: [categoria, pedidos, unidades, totalCentavos]
+    @Query("select d.producto.categoria, count(distinct d.pedido.id), sum(d.cantidad), " +
+           "sum(d.cantidad * d.precioUnitarioCentavos) from DetallePedido d " +
+           "where d.pedido.pagado = true and d.pedido.fechaHora >= :desde and d.pedido.fechaHora < :hasta " +
+           "group by d.producto.categoria")
+    List<Object[]> pagadosPorCategoria(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+}
@@ -0,0 +1,23 @@
+package com.restaurante.gestionReportes.repository;
+
+import com.restaurante.gestionReportes.model.VentaCategoriaDia;
+import com.restaurante.gestionReportes.model.VentaHora;
+import com.restaurante.gestionReportes.model.VentaProductoDia;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReporteVentasRepositoryCustom {
+
+    // Sumar a las filas de hora y de día (INSERT ... ON DUPLICATE KEY UPDATE)
+    void sumarPeriodos(List<VentaHora> horas);
+
+    // Sumar a las filas por producto y por categoría, en lote y en orden de clave
+    void sumarProductos(List<VentaProductoDia> filas);
+
+    void sumarCategorias(List<VentaCategoriaDia> filas);
+
+    // Borrar todas las filas de rollup de un día (antes de recalcularlo)
+    void borrarDia(LocalDate dia);
+
+}
@@ -0,0 +1,117 @@
+package com.restaurante.gestionReportes.repository;
+
+import com.restaurante.gestionReportes.model.VentaCategoriaDia;
+import com.restaurante.gestionReportes.model.VentaHora;
+import com.restaurante.gestionReportes.model.VentaProductoDia;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ReporteVentasRepositoryCustomImpl implements ReporteVentasRepositoryCustom {
+
+    // Incremento en una sola sentencia: dos pagos concurrentes de la misma hora no se pisan
+    private static final String SUMAR_HORA_SQL =
+            "INSERT INTO ventas_hora (hora, pedidos, unidades, total_centavos) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE pedidos = pedidos + VALUES(pedidos), unidades = unidades + VALUES(unidades), " +
+            "total_centavos = total_centavos + VALUES(total_centavos)";
+
+    private static final String SUMAR_DIA_SQL =
+            "INSERT INTO ventas_dia (dia, pedidos, unidades, total_centavos) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE pedidos = pedidos + VALUES(pedidos), unidades = unidades + VALUES(unidades), " +
+            "total_centavos = total_centavos + VALUES(total_centavos)";
+
+    private static final String SUMAR_PRODUCTO_SQL =
+            "INSERT INTO ventas_producto_dia (dia, producto_id, pedidos, unidades, total_centavos) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE pedidos = pedidos + VALUES(pedidos), unidades = unidades + VALUES(unidades), " +
+            "total_centavos = total_centavos + VALUES(total_centavos)";
+
+    private static final String SUMAR_CATEGORIA_SQL =
+            "INSERT INTO ventas_categoria_dia (dia, categoria, pedidos, unidades, total_centavos) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE pedidos = pedidos + VALUES(pedidos), unidades = unidades + VALUES(unidades), " +
+            "total_centavos = total_centavos + VALUES(total_centavos)";
+
+    private final JdbcTemplate jdbc;
+
+    public ReporteVentasRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Todas las escrituras bloquean en el mismo orden (hora, día, productos, categorías; cada grupo
+    // ordenado por clave): pagos concurrentes y reconstrucciones no se interbloquean
+    @Override
+    public void sumarPeriodos(List<VentaHora> horas) {
+        if (horas.isEmpty()) {
+            return;
+        }
+        List<VentaHora> ordenadas = horas.stream().sorted(Comparator.comparing(VentaHora::getHora)).toList();
+        jdbc.batchUpdate(SUMAR_HORA_SQL, ordenadas, ordenadas.size(), (ps, v) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(v.getHora()));
+            ps.setInt(2, v.getPedidos());
+            ps.setLong(3, v.getUnidades());
+            ps.setLong(4, v.getTotalCentavos());
+        });
+
+        Map<LocalDate, long[]> porDia = new TreeMap<>();
+        for (VentaHora v : ordenadas) {
+            long[] suma = porDia.computeIfAbsent(v.getHora().toLocalDate(), d -> new long[3]);
+            suma[0] += v.getPedidos();
+            suma[1] += v.getUnidades();
+            suma[2] += v.getTotalCentavos();
+        }
+        List<Map.Entry<LocalDate, long[]>> dias = List.copyOf(porDia.entrySet());
+        jdbc.batchUpdate(SUMAR_DIA_SQL, dias, dias.size(), (ps, e) -> {
+            ps.setDate(1, Date.valueOf(e.getKey()));
+            ps.setInt(2, Math.toIntExact(e.getValue()[0]));
+            ps.setLong(3, e.getValue()[1]);
+            ps.setLong(4, e.getValue()[2]);
+        });
+    }
+
+    @Override
+    public void sumarProductos(List<VentaProductoDia> filas) {
+        List<VentaProductoDia> ordenadas = filas.stream()
+                .sorted(Comparator.comparing(VentaProductoDia::getDia).thenComparing(VentaProductoDia::getProductoId))
+                .toList();
+        jdbc.batchUpdate(SUMAR_PRODUCTO_SQL, ordenadas, 100, (ps, v) -> {
+            ps.setDate(1, Date.valueOf(v.getDia()));
+            ps.setLong(2, v.getProductoId());
+            ps.setInt(3, v.getPedidos());
+            ps.setLong(4, v.getUnidades());
+            ps.setLong(5, v.getTotalCentavos());
+        });
+    }
+
+    @Override
+    public void sumarCategorias(List<VentaCategoriaDia> filas) {
+        List<VentaCategoriaDia> ordenadas = filas.stream()
+                .sorted(Comparator.comparing(VentaCategoriaDia::getDia).thenComparing(VentaCategoriaDia::getCategoria))
+                .toList();
+        jdbc.batchUpdate(SUMAR_CATEGORIA_SQL, ordenadas, 100, (ps, v) -> {
+            ps.setDate(1, Date.valueOf(v.getDia()));
+            ps.setString(2, v.getCategoria());
+            ps.setInt(3, v.getPedidos());
+            ps.setLong(4, v.getUnidades());
+            ps.setLong(5, v.getTotalCentavos());
+        });
+    }
+
+    @Override
+    public void borrarDia(LocalDate dia) {
+        Timestamp inicio = Timestamp.valueOf(dia.atStartOfDay());
+        Timestamp fin = Timestamp.valueOf(dia.plusDays(1).atStartOfDay());
+        Date fecha = Date.valueOf(dia);
+        jdbc.update("DELETE FROM ventas_hora WHERE hora >= ? AND hora < ?", inicio, fin);
+        jdbc.update("DELETE FROM ventas_dia WHERE dia = ?", fecha);
+        jdbc.update("DELETE FROM ventas_producto_dia WHERE dia = ?", fecha);
+        jdbc.update("DELETE FROM ventas_categoria_dia WHERE dia = ?", fecha);
+    }
+
+}
@@ -0,0 +1,280 @@
+package com.restaurante.gestionReportes.service;
+
+import com.restaurante.gestionPedidos.model.DetallePedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.service.ProductoService;
+import com.restaurante.gestionReportes.model.ResultadoReconstruccion;
+import com.restaurante.gestionReportes.model.VentaCategoria;
+import com.restaurante.gestionReportes.model.VentaCategoriaDia;
+import com.restaurante.gestionReportes.model.VentaDia;
+import com.restaurante.gestionReportes.model.VentaHora;
+import com.restaurante.gestionReportes.model.VentaProducto;
+import com.restaurante.gestionReportes.model.VentaProductoDia;
+import com.restaurante.gestionReportes.repository.ReporteVentasRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reportes de ventas sobre rollups (por hora, día, producto y categoría).
+ * Los rollups se actualizan en la misma transacción que marca el pedido como pagado, así que un
+ * reporte nunca recorre pedidos ni líneas; la reconstrucción los recalcula desde los pedidos pagados.
+ */
+@Service
+public class ReporteVentasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReporteVentasService.class);
+
+    static final String SIN_CATEGORIA = "Sin categoría";
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final ReporteVentasRepository repo;
+    private final ProductoService productoService;
+    private final TransactionTemplate transaccion;
+    private final int maxDiasRango;
+
+    // Reconstrucción por días en paralelo (cada día en su propia transacción)
+    private final ExecutorService reconstructores;
+    private final AtomicBoolean reconstruyendo = new AtomicBoolean();
+
+    public ReporteVentasService(ReporteVentasRepository repo,
+                                ProductoService productoService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.reportes.max-dias-rango:366}") int maxDiasRango,
+                                @Value("${app.reportes.hilos-reconstruccion:4}") int hilosReconstruccion) {
+        this.repo = repo;
+        this.productoService = productoService;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.maxDiasRango = maxDiasRango;
+        AtomicInteger contador = new AtomicInteger();
+        this.reconstructores = Executors.newFixedThreadPool(Math.max(hilosReconstruccion, 1), r -> {
+            Thread t = new Thread(r, "reportes-reconstruccion-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // ========== ACTUALIZACIÓN INCREMENTAL (dentro de la transacción del pedido) ==========
+
+    // Pedido recién pagado: una proyección de sus líneas por producto y un lote de incrementos
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarPago(Pedido pedido) {
+        LocalDate dia = pedido.getFechaHora().toLocalDate();
+        List<VentaProductoDia> productos = new ArrayList<>();
+        Map<String, long[]> categorias = new HashMap<>();
+        for (Object[] fila : repo.lineasDePedido(pedido.getId())) {
+            long unidades = ((Number) fila[2]).longValue();
+            long totalCentavos = ((Number) fila[3]).longValue();
+            productos.add(new VentaProductoDia(dia, (Long) fila[0], 1, unidades, totalCentavos));
+            long[] suma = categorias.computeIfAbsent(categoria((String) fila[1]), c -> new long[2]);
+            suma[0] += unidades;
+            suma[1] += totalCentavos;
+        }
+        sumar(pedido, 1, productos, categorias);
+    }
+
+    // Líneas agregadas a un pedido ya pagado: suman unidades y total (el conteo de pedidos no cambia)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarLineasAdicionales(Pedido pedido, List<DetallePedido> lineas) {
+        LocalDate dia = pedido.getFechaHora().toLocalDate();
+        Map<Long, long[]> porProducto = new HashMap<>();
+        Map<String, long[]> categorias = new HashMap<>();
+        for (DetallePedido d : lineas) {
+            long[] p = porProducto.computeIfAbsent(d.getProducto().getId(), id -> new long[2]);
+            long[] c = categorias.computeIfAbsent(categoria(d.getProducto().getCategoria()), k -> new long[2]);
+            p[0] += d.getCantidad();
+            p[1] += d.getSubtotalCentavos();
+            c[0] += d.getCantidad();
+            c[1] += d.getSubtotalCentavos();
+        }
+        List<VentaProductoDia> productos = new ArrayList<>();
+        porProducto.forEach((id, s) -> productos.add(new VentaProductoDia(dia, id, 0, s[0], s[1])));
+        sumar(pedido, 0, productos, categorias);
+    }
+
+    private void sumar(Pedido pedido, int pedidos, List<VentaProductoDia> productos, Map<String, long[]> categorias) {
+        LocalDate dia = pedido.getFechaHora().toLocalDate();
+        long unidades = productos.stream().mapToLong(VentaProductoDia::getUnidades).sum();
+        long totalCentavos = productos.stream().mapToLong(VentaProductoDia::getTotalCentavos).sum();
+
+        repo.sumarPeriodos(List.of(new VentaHora(pedido.getFechaHora().truncatedTo(ChronoUnit.HOURS),
+                pedidos, unidades, totalCentavos)));
+        if (!productos.isEmpty()) {
+            repo.sumarProductos(productos);
+            List<VentaCategoriaDia> filas = new ArrayList<>();
+            categorias.forEach((c, s) -> filas.add(new VentaCategoriaDia(dia, c, pedidos, s[0], s[1])));
+            repo.sumarCategorias(filas);
+        }
+    }
+
+    // ========== REPORTES (solo tablas de rollup) ==========
+    // readOnly: con app.replica.habilitada se leen de la réplica
+
+    @Transactional(readOnly = true)
+    public List<VentaHora> ventasPorHora(LocalDateTime desde, LocalDateTime hasta) {
+        validarRango(desde.toLocalDate(), hasta.toLocalDate());
+        return repo.ventasPorHora(desde, hasta);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VentaDia> ventasPorDia(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        return repo.ventasPorDia(desde, hasta);
+    }
+
+    // Sin readOnly: si el catálogo en caché está vacío se reconstruye aquí y debe leerse de la primaria
+    public List<VentaProducto> masVendidos(LocalDate desde, LocalDate hasta, int limite) {
+        validarRango(desde, hasta);
+        List<Object[]> filas = repo.masVendidos(desde, hasta,
+                Limit.of(Math.min(Math.max(limite, 1), LIMITE_MAXIMO)));
+
+        // Nombres y categorías desde el catálogo en caché (sin consultar productos)
+        Map<Long, Producto> productos = productoService.buscarPorIds(filas.stream().map(f -> (Long) f[0]).toList());
+        return filas.stream().map(f -> {
+            Producto p = productos.get((Long) f[0]);
+            return new VentaProducto((Long) f[0],
+                    p != null ? p.getNombre() : null,
+                    p != null ? categoria(p.getCategoria()) : null,
+                    ((Number) f[1]).longValue(), ((Number) f[2]).longValue(), ((Number) f[3]).longValue());
+        }).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<VentaCategoria> ventasPorCategoria(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        return repo.ventasPorCategoria(desde, hasta).stream()
+                .map(f -> new VentaCategoria((String) f[0],
+                        ((Number) f[1]).longValue(), ((Number) f[2]).longValue(), ((Number) f[3]).longValue()))
+                .toList();
+    }
+
+    private void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("'desde' debe ser anterior o igual a 'hasta'");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) >= maxDiasRango) {
+            throw new IllegalArgumentException("El rango no puede superar " + maxDiasRango + " días");
+        }
+    }
+
+    // ========== RECONSTRUCCIÓN ==========
+
+    // Recalcular los rollups desde los pedidos pagados, un día por tarea; sin fechas, todo el histórico
+    public ResultadoReconstruccion reconstruir(LocalDate desde, LocalDate hasta) {
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("'desde' debe ser anterior o igual a 'hasta'");
+        }
+        if (!reconstruyendo.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una reconstrucción de reportes en curso");
+        }
+        try {
+            long inicio = System.nanoTime();
+            if (desde == null || hasta == null) {
+                Object[] rango = repo.rangoPagados().get(0);
+                if (rango[0] == null) {
+                    return new ResultadoReconstruccion(desde, hasta, 0, 0, 0);
+                }
+                desde = desde != null ? desde : ((LocalDateTime) rango[0]).toLocalDate();
+                hasta = hasta != null ? hasta : ((LocalDateTime) rango[1]).toLocalDate();
+            }
+
+            List<LocalDate> dias = desde.datesUntil(hasta.plusDays(1)).toList();
+            List<Future<Long>> tareas = new ArrayList<>(dias.size());
+            for (LocalDate dia : dias) {
+                tareas.add(reconstructores.submit(() -> reconstruirDia(dia)));
+            }
+            long pedidos = 0;
+            try {
+                for (Future<Long> tarea : tareas) {
+                    pedidos += tarea.get();
+                }
+            } catch (ExecutionException e) {
+                tareas.forEach(t -> t.cancel(false));
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new IllegalStateException("Falló la reconstrucción de reportes", e.getCause());
+            } catch (InterruptedException e) {
+                tareas.forEach(t -> t.cancel(false));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconstrucción de reportes interrumpida", e);
+            }
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            log.info("Rollups de ventas reconstruidos: {} días, {} pedidos en {} ms", dias.size(), pedidos, duracionMs);
+            return new ResultadoReconstruccion(desde, hasta, dias.size(), pedidos, duracionMs);
+        } finally {
+            reconstruyendo.set(false);
+        }
+    }
+
+    // Un día en una transacción: se borran sus filas (quedan bloqueadas para los pagos concurrentes
+    // de ese día hasta el commit) y se insertan los agregados de tres consultas agrupadas
+    private long reconstruirDia(LocalDate dia) {
+        LocalDateTime inicio = dia.atStartOfDay();
+        LocalDateTime fin = inicio.plusDays(1);
+        return transaccion.execute(status -> {
+            repo.borrarDia(dia);
+
+            List<VentaHora> horas = repo.pagadosPorHora(inicio, fin).stream()
+                    .map(f -> new VentaHora(inicio.plusHours(((Number) f[0]).intValue()),
+                            ((Number) f[1]).intValue(), ((Number) f[2]).longValue(), ((Number) f[3]).longValue()))
+                    .toList();
+            if (horas.isEmpty()) {
+                return 0L;
+            }
+            repo.sumarPeriodos(horas);
+            repo.sumarProductos(repo.pagadosPorProducto(inicio, fin).stream()
+                    .map(f -> new VentaProductoDia(dia, (Long) f[0],
+                            ((Number) f[1]).intValue(), ((Number) f[2]).longValue(), ((Number) f[3]).longValue()))
+                    .toList());
+
+            // Categorías nulas se agrupan bajo SIN_CATEGORIA (clave primaria no nula)
+            Map<String, long[]> categorias = new HashMap<>();
+            for (Object[] f : repo.pagadosPorCategoria(inicio, fin)) {
+                long[] s = categorias.computeIfAbsent(categoria((String) f[0]), c -> new long[3]);
+                s[0] += ((Number) f[1]).longValue();
+                s[1] += ((Number) f[2]).longValue();
+                s[2] += ((Number) f[3]).longValue();
+            }
+            List<VentaCategoriaDia> filas = new ArrayList<>();
+            categorias.forEach((c, s) -> filas.add(new VentaCategoriaDia(dia, c, Math.toIntExact(s[0]), s[1], s[2])));
+            repo.sumarCategorias(filas);
+
+            return horas.stream().mapToLong(VentaHora::getPedidos).sum();
+        });
+    }
+
+    private static String categoria(String categoria) {
+        return categoria != null ? categoria : SIN_CATEGORIA;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        reconstructores.shutdownNow();
+    }
+
+}
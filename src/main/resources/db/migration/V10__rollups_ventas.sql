@@ -0,0 +1,34 @@
+-- Rollups de ventas mantenidos al pagar cada pedido (reportes en tiempo constante)
+-- El periodo de un pedido es su fecha_hora; las filas se reconstruyen con POST /api/v1/reportes/reconstruir
+
+CREATE TABLE IF NOT EXISTS ventas_hora (
+    hora            DATETIME(6) PRIMARY KEY,
+    pedidos         INT NOT NULL,
+    unidades        BIGINT NOT NULL,
+    total_centavos  BIGINT NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ventas_dia (
+    dia             DATE PRIMARY KEY,
+    pedidos         INT NOT NULL,
+    unidades        BIGINT NOT NULL,
+    total_centavos  BIGINT NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ventas_producto_dia (
+    dia             DATE NOT NULL,
+    producto_id     BIGINT NOT NULL,
+    pedidos         INT NOT NULL,
+    unidades        BIGINT NOT NULL,
+    total_centavos  BIGINT NOT NULL,
+    PRIMARY KEY (dia, producto_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ventas_categoria_dia (
+    dia             DATE NOT NULL,
+    categoria       VARCHAR(255) NOT NULL,
+    pedidos         INT NOT NULL,
+    unidades        BIGINT NOT NULL,
+    total_centavos  BIGINT NOT NULL,
+    PRIMARY KEY (dia, categoria)
+) ENGINE = InnoDB;
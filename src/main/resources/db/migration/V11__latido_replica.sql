@@ -0,0 +1,7 @@
+-- Latido de replicación: la aplicación escribe la hora en la primaria y la lee en la réplica
+-- para medir su retraso (app.replica.*). Una sola fila, id = 1.
+
+CREATE TABLE IF NOT EXISTS replica_latido (
+    id        INT PRIMARY KEY,
+    instante  DATETIME(6) NOT NULL
+) ENGINE = InnoDB;
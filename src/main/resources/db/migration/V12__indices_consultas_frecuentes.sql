@@ -0,0 +1,23 @@
+-- Índices para los caminos de acceso de las consultas frecuentes de los repositorios.
+-- IndicesConsultasTest aplica estas migraciones, captura el SQL que generan los repositorios y
+-- verifica con EXPLAIN que cada consulta use su índice
+
+-- pedidos: rangos de fecha y cursor (fecha_hora, id) ya resueltos por idx_pedidos_fecha_id (V5)
+-- Pedidos sin pagar contados por estado: filtro y agrupación desde el índice, sin leer las filas
+CREATE INDEX IF NOT EXISTS idx_pedidos_pagado_estado ON pedidos (pagado, estado);
+-- Pedidos en un estado (unidades por producto de la cola de cocina)
+CREATE INDEX IF NOT EXISTS idx_pedidos_estado ON pedidos (estado);
+
+-- detalles_pedido: índice de la clave foránea pedido_id que además cubre producto y cantidad, para
+-- resolver las sumas de unidades por pedido solo con el índice. La clave foránea producto_id
+-- conserva el índice que la base crea con la restricción (V1)
+CREATE INDEX IF NOT EXISTS idx_detalles_pedido_producto ON detalles_pedido (pedido_id, producto_id, cantidad);
+
+-- productos: findByDisponibleTrue y findByCategoria
+CREATE INDEX IF NOT EXISTS idx_productos_disponible_categoria ON productos (disponible, categoria);
+CREATE INDEX IF NOT EXISTS idx_productos_categoria ON productos (categoria);
+
+-- empleados: findByRol
+CREATE INDEX IF NOT EXISTS idx_empleados_rol ON empleados (rol);
+
+-- inventario: el bajo stock se consulta por la columna generada bajo_stock, indexada en V9
@@ -0,0 +1,42 @@
+-- Esquema base tal como existía antes de versionar (creado a mano en MariaDB)
+
+CREATE TABLE IF NOT EXISTS productos (
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nombre      VARCHAR(255),
+    categoria   VARCHAR(255),
+    precio      DECIMAL(38, 2),
+    disponible  BIT NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS pedidos (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nombre_cliente  VARCHAR(255),
+    fecha_hora      DATETIME(6),
+    pagado          BIT NOT NULL,
+    estado          VARCHAR(20)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS detalles_pedido (
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cantidad         INT NOT NULL,
+    precio_unitario  DOUBLE NOT NULL,
+    producto_id      BIGINT NOT NULL,
+    pedido_id        BIGINT,
+    CONSTRAINT fk_detalle_producto FOREIGN KEY (producto_id) REFERENCES productos (id),
+    CONSTRAINT fk_detalle_pedido FOREIGN KEY (pedido_id) REFERENCES pedidos (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS inventario (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nombre_insumo  VARCHAR(255),
+    unidad         VARCHAR(255),
+    stock_actual   INT NOT NULL,
+    stock_minimo   INT NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS empleados (
+    id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nombre   VARCHAR(255),
+    rol      VARCHAR(255),
+    salario  DECIMAL(38, 2)
+) ENGINE = InnoDB;
@@ -0,0 +1,14 @@
+-- Historial de pedidos (Memento) de solo escritura al final
+
+CREATE TABLE historial_pedidos (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    pedido_id       BIGINT NOT NULL,
+    evento          VARCHAR(30) NOT NULL,
+    nombre_cliente  VARCHAR(255),
+    estado          VARCHAR(20),
+    total           DOUBLE NOT NULL,
+    pagado          BIT NOT NULL,
+    fecha_pedido    DATETIME(6),
+    registrado_en   DATETIME(6) NOT NULL,
+    INDEX idx_historial_pedido_registro (pedido_id, registrado_en, id)
+) ENGINE = InnoDB;
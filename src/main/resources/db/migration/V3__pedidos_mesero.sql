@@ -0,0 +1,3 @@
+-- Mesero que atiende el pedido (filtro del stream de pedidos)
+
+ALTER TABLE pedidos ADD COLUMN nombre_mesero VARCHAR(255) NULL;
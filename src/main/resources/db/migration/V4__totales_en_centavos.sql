@@ -0,0 +1,20 @@
+-- Montos en centavos (BIGINT) y totales del pedido mantenidos de forma incremental
+
+ALTER TABLE detalles_pedido ADD COLUMN precio_unitario_centavos BIGINT NOT NULL DEFAULT 0;
+UPDATE detalles_pedido SET precio_unitario_centavos = ROUND(precio_unitario * 100);
+ALTER TABLE detalles_pedido DROP COLUMN precio_unitario;
+
+ALTER TABLE pedidos ADD COLUMN total_centavos BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pedidos ADD COLUMN cantidad_items INT NOT NULL DEFAULT 0;
+ALTER TABLE pedidos ADD COLUMN cantidad_lineas INT NOT NULL DEFAULT 0;
+
+-- Subconsultas correlacionadas (no UPDATE ... JOIN): el mismo script corre en la H2 de las pruebas
+UPDATE pedidos SET
+    total_centavos = COALESCE((SELECT SUM(d.cantidad * d.precio_unitario_centavos)
+                               FROM detalles_pedido d WHERE d.pedido_id = pedidos.id), 0),
+    cantidad_items = COALESCE((SELECT SUM(d.cantidad) FROM detalles_pedido d WHERE d.pedido_id = pedidos.id), 0),
+    cantidad_lineas = (SELECT COUNT(*) FROM detalles_pedido d WHERE d.pedido_id = pedidos.id);
+
+ALTER TABLE historial_pedidos ADD COLUMN total_centavos BIGINT NOT NULL DEFAULT 0;
+UPDATE historial_pedidos SET total_centavos = ROUND(total * 100);
+ALTER TABLE historial_pedidos DROP COLUMN total;
@@ -0,0 +1,3 @@
+-- Índice compuesto para la paginación por cursor (fecha_hora, id) y los rangos de fechas
+
+CREATE INDEX idx_pedidos_fecha_id ON pedidos (fecha_hora, id);
@@ -0,0 +1,7 @@
+-- Secuencia para los ids de detalles_pedido (asignación por bloques de 50 => inserciones en lote)
+
+CREATE SEQUENCE detalles_pedido_seq START WITH 1 INCREMENT BY 50;
+
+-- El optimizador "pooled" usa el valor como extremo superior del bloque: se deja un bloque de margen
+SET @siguiente = (SELECT COALESCE(MAX(id), 0) + 51 FROM detalles_pedido);
+EXECUTE IMMEDIATE CONCAT('ALTER SEQUENCE detalles_pedido_seq RESTART WITH ', @siguiente);
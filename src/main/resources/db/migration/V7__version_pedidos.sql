@@ -0,0 +1,3 @@
+-- Control de concurrencia optimista en pedidos (@Version): cada actualización incrementa la versión
+
+ALTER TABLE pedidos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
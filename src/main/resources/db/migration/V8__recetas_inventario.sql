@@ -0,0 +1,14 @@
+-- Recetas (lista de materiales) y control de versión del inventario
+
+ALTER TABLE inventario ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS recetas (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    producto_id  BIGINT NOT NULL,
+    insumo_id    BIGINT NOT NULL,
+    cantidad     INT NOT NULL,
+    -- El índice único también resuelve la búsqueda de recetas por producto
+    CONSTRAINT uk_receta_producto_insumo UNIQUE (producto_id, insumo_id),
+    CONSTRAINT fk_receta_producto FOREIGN KEY (producto_id) REFERENCES productos (id),
+    CONSTRAINT fk_receta_insumo FOREIGN KEY (insumo_id) REFERENCES inventario (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,8 @@
+-- Predicado de bajo stock calculado por la base de datos (stock_actual <= stock_minimo) e indexado:
+-- la carga inicial del vigilante de stock lee solo los insumos bajo su mínimo, sin recorrer la tabla.
+-- Columna virtual (InnoDB indexa columnas generadas virtuales); la misma sintaxis corre en H2
+
+ALTER TABLE inventario
+    ADD COLUMN IF NOT EXISTS bajo_stock BOOLEAN GENERATED ALWAYS AS (stock_actual <= stock_minimo);
+
+CREATE INDEX IF NOT EXISTS idx_inventario_bajo_stock ON inventario (bajo_stock);
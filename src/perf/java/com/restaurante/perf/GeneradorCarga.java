@@ -0,0 +1,387 @@
+package com.restaurante.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generador de carga de un día de servicio contra la API REST (usar con el perfil Spring "perf").
+ * Cada hilo simula una mesa: crea un pedido, agrega líneas, lo envía a cocina, lo termina y lo paga,
+ * intercalando lecturas de pedidos, catálogo, inventario y empleados.
+ * Al final escribe un JSON con throughput y latencias p50/p99/p999 por endpoint.
+ *
+ * Solo usa el JDK, se ejecuta sin compilar:
+ *   java src/perf/java/com/restaurante/perf/GeneradorCarga.java --url http://localhost:8080 \
+ *        --hilos 16 --duracion 120 --calentamiento 20 --salida target/perf/resultado.json
+ */
+public final class GeneradorCarga {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    // Lecturas intercaladas y su peso relativo en la mezcla
+    private enum Lectura {
+        LISTAR_PEDIDOS(20),
+        HISTORIAL_RECIENTE(3),
+        MENU(15),
+        PRODUCTOS_DISPONIBLES(15),
+        PRODUCTO_POR_ID(20),
+        PRODUCTOS_POR_CATEGORIA(8),
+        INVENTARIO(5),
+        INVENTARIO_BAJO_STOCK(5),
+        EMPLEADOS(4),
+        MANEJAR_PEDIDO_POR_ROL(5);
+
+        private final int peso;
+
+        Lectura(int peso) {
+            this.peso = peso;
+        }
+    }
+
+    private static final String[] CATEGORIAS = {
+            "BEBIDA_CALIENTE", "BEBIDA_FRIA", "PLATO_CALIENTE", "PLATO_FRIO", "POSTRE"
+    };
+    private static final String[] ROLES = {"MESERO", "COCINERO", "BARISTA", "ADMIN"};
+
+    // Histograma log-lineal en microsegundos (~0,2% de error relativo), seguro entre hilos
+    static final class Histograma {
+        private static final int SUB = 1024;
+        private static final int MITAD = SUB / 2;
+        private static final long MAXIMO_REGISTRABLE = 1L << 40;
+        private final AtomicLongArray cuentas = new AtomicLongArray(SUB + 31 * MITAD);
+        private final LongAdder total = new LongAdder();
+        private final LongAdder suma = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+        private volatile long maximo;
+
+        void registrar(long micros, boolean error) {
+            long v = Math.min(Math.max(micros, 0), MAXIMO_REGISTRABLE - 1);
+            cuentas.incrementAndGet(indice(v));
+            total.increment();
+            suma.add(v);
+            if (error) {
+                errores.increment();
+            }
+            if (v > maximo) {
+                synchronized (this) {
+                    maximo = Math.max(maximo, v);
+                }
+            }
+        }
+
+        private static int indice(long v) {
+            if (v < SUB) {
+                return (int) v;
+            }
+            int desplazamiento = (63 - Long.numberOfLeadingZeros(v)) - 9;
+            return SUB + (desplazamiento - 1) * MITAD + (int) ((v >> desplazamiento) - MITAD);
+        }
+
+        private static long valorSuperior(int indice) {
+            if (indice < SUB) {
+                return indice;
+            }
+            int desplazamiento = (indice - SUB) / MITAD + 1;
+            long base = (indice - SUB) % MITAD + MITAD;
+            return ((base + 1) << desplazamiento) - 1;
+        }
+
+        long percentil(double p) {
+            long n = total.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long objetivo = (long) Math.ceil(n * p);
+            long acumulado = 0;
+            for (int i = 0; i < cuentas.length(); i++) {
+                acumulado += cuentas.get(i);
+                if (acumulado >= objetivo) {
+                    return Math.min(valorSuperior(i), maximo);
+                }
+            }
+            return maximo;
+        }
+    }
+
+    private final HttpClient http;
+    private final String base;
+    private final Map<String, Histograma> endpoints = new ConcurrentHashMap<>();
+    private final List<Long> productos = new ArrayList<>();
+    private final List<Long> empleados = new ArrayList<>();
+    private final int pesoTotal;
+
+    private volatile boolean midiendo;
+    private volatile boolean activo = true;
+
+    private GeneradorCarga(String base, int hilos) {
+        this.base = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, hilos / 4)))
+                .build();
+        int peso = 0;
+        for (Lectura l : Lectura.values()) {
+            peso += l.peso;
+        }
+        this.pesoTotal = peso;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = opciones(args);
+        String url = opciones.getOrDefault("url", "http://localhost:8080");
+        int hilos = Integer.parseInt(opciones.getOrDefault("hilos", "16"));
+        int duracion = Integer.parseInt(opciones.getOrDefault("duracion", "60"));
+        int calentamiento = Integer.parseInt(opciones.getOrDefault("calentamiento", "10"));
+        long semilla = Long.parseLong(opciones.getOrDefault("semilla", "20241017"));
+        Path salida = Path.of(opciones.getOrDefault("salida", "target/perf/resultado.json"));
+
+        GeneradorCarga generador = new GeneradorCarga(url, hilos);
+        generador.cargarReferencias();
+
+        CountDownLatch fin = new CountDownLatch(hilos);
+        for (int i = 0; i < hilos; i++) {
+            SplittableRandom random = new SplittableRandom(semilla + i);
+            Thread t = new Thread(() -> {
+                try {
+                    generador.atenderMesas(random);
+                } finally {
+                    fin.countDown();
+                }
+            }, "carga-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        System.out.printf("Calentamiento %ds con %d hilos contra %s%n", calentamiento, hilos, url);
+        Thread.sleep(calentamiento * 1000L);
+        generador.midiendo = true;
+        long inicio = System.nanoTime();
+        Instant inicioReloj = Instant.now();
+        System.out.printf("Midiendo %ds...%n", duracion);
+        Thread.sleep(duracion * 1000L);
+        generador.midiendo = false;
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        generador.activo = false;
+        fin.await();
+
+        String json = generador.reporte(inicioReloj, segundos, hilos, semilla);
+        if (salida.getParent() != null) {
+            Files.createDirectories(salida.getParent());
+        }
+        Files.writeString(salida, json);
+        System.out.println(json);
+        System.out.println("Resultado escrito en " + salida.toAbsolutePath());
+        System.exit(0);
+    }
+
+    private void cargarReferencias() throws IOException, InterruptedException {
+        extraerIds(get("/api/v1/productos/disponibles"), productos);
+        extraerIds(get("/api/v1/empleados"), empleados);
+        if (productos.isEmpty()) {
+            throw new IllegalStateException("No hay productos disponibles: ¿la API corre con el perfil perf?");
+        }
+        System.out.printf("Referencias: %d productos, %d empleados%n", productos.size(), empleados.size());
+    }
+
+    // Una mesa: ciclo completo de un pedido con lecturas intercaladas
+    private void atenderMesas(SplittableRandom random) {
+        while (activo) {
+            String cuerpo = "{\"nombreCliente\":\"Mesa " + random.nextInt(1, 41)
+                    + "\",\"mesero\":\"Mesero " + random.nextInt(1, 9) + "\"}";
+            Long idPedido = id(llamar("POST /pedidos", "POST", "/api/v1/pedidos", cuerpo));
+            if (idPedido == null) {
+                continue;
+            }
+            lecturas(random, idPedido);
+
+            int rondas = random.nextInt(1, 4);
+            for (int r = 0; r < rondas && activo; r++) {
+                llamar("POST /pedidos/{id}/agregar-productos", "POST",
+                        "/api/v1/pedidos/" + idPedido + "/agregar-productos", lineas(random));
+                lecturas(random, idPedido);
+            }
+            llamar("POST /pedidos/{id}/enviar-cocinero", "POST", "/api/v1/pedidos/" + idPedido + "/enviar-cocinero", null);
+            lecturas(random, idPedido);
+            llamar("POST /pedidos/{id}/terminar", "POST", "/api/v1/pedidos/" + idPedido + "/terminar", null);
+            lecturas(random, idPedido);
+            llamar("POST /pedidos/{id}/pagar", "POST", "/api/v1/pedidos/" + idPedido + "/pagar", null);
+        }
+    }
+
+    private String lineas(SplittableRandom random) {
+        int cantidad = random.nextInt(1, 7);
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < cantidad; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"idProducto\":").append(productos.get(random.nextInt(productos.size())))
+                    .append(",\"cantidad\":").append(random.nextInt(1, 4)).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private void lecturas(SplittableRandom random, Long idPedido) {
+        int cantidad = random.nextInt(0, 4);
+        for (int i = 0; i < cantidad && activo; i++) {
+            leer(elegir(random), random, idPedido);
+        }
+    }
+
+    private Lectura elegir(SplittableRandom random) {
+        int r = random.nextInt(pesoTotal);
+        for (Lectura l : Lectura.values()) {
+            r -= l.peso;
+            if (r < 0) {
+                return l;
+            }
+        }
+        return Lectura.MENU;
+    }
+
+    private void leer(Lectura lectura, SplittableRandom random, Long idPedido) {
+        switch (lectura) {
+            case LISTAR_PEDIDOS -> llamar("GET /pedidos", "GET", "/api/v1/pedidos?tamano=20", null);
+            case HISTORIAL_RECIENTE -> llamar("GET /pedidos/historial", "GET", "/api/v1/pedidos/historial?limite=50", null);
+            case MENU -> llamar("GET /productos/menu", "GET", "/api/v1/productos/menu", null);
+            case PRODUCTOS_DISPONIBLES -> llamar("GET /productos/disponibles", "GET", "/api/v1/productos/disponibles", null);
+            case PRODUCTO_POR_ID -> llamar("GET /productos/{id}", "GET",
+                    "/api/v1/productos/" + productos.get(random.nextInt(productos.size())), null);
+            case PRODUCTOS_POR_CATEGORIA -> llamar("GET /productos/categoria/{c}", "GET",
+                    "/api/v1/productos/categoria/" + CATEGORIAS[random.nextInt(CATEGORIAS.length)], null);
+            case INVENTARIO -> llamar("GET /inventario", "GET", "/api/v1/inventario", null);
+            case INVENTARIO_BAJO_STOCK -> llamar("GET /inventario/bajo-stock", "GET", "/api/v1/inventario/bajo-stock", null);
+            case EMPLEADOS -> llamar("GET /empleados", "GET", "/api/v1/empleados", null);
+            case MANEJAR_PEDIDO_POR_ROL -> llamar("POST /empleados/manejar-pedido", "POST", "/api/v1/empleados/manejar-pedido",
+                    "{\"idPedido\":" + idPedido + ",\"rol\":\"" + ROLES[random.nextInt(ROLES.length)] + "\"}");
+        }
+    }
+
+    private String llamar(String endpoint, String metodo, String ruta, String cuerpo) {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create(base + ruta))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (cuerpo != null) {
+            peticion.header("Content-Type", "application/json")
+                    .method(metodo, HttpRequest.BodyPublishers.ofString(cuerpo));
+        } else {
+            peticion.method(metodo, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long inicio = System.nanoTime();
+        int estado;
+        String respuesta = null;
+        try {
+            HttpResponse<String> r = http.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+            estado = r.statusCode();
+            respuesta = r.body();
+        } catch (IOException e) {
+            estado = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            activo = false;
+            return null;
+        }
+        long micros = (System.nanoTime() - inicio) / 1_000;
+        if (midiendo) {
+            endpoints.computeIfAbsent(endpoint, k -> new Histograma())
+                    .registrar(micros, estado < 200 || estado >= 400);
+        }
+        return estado >= 200 && estado < 300 ? respuesta : null;
+    }
+
+    private String get(String ruta) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(base + ruta)).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static Long id(String json) {
+        if (json == null) {
+            return null;
+        }
+        Matcher m = ID.matcher(json);
+        return m.find() ? Long.valueOf(m.group(1)) : null;
+    }
+
+    private static void extraerIds(String json, List<Long> destino) {
+        Matcher m = ID.matcher(json);
+        while (m.find()) {
+            destino.add(Long.valueOf(m.group(1)));
+        }
+    }
+
+    private String reporte(Instant inicio, double segundos, int hilos, long semilla) {
+        StringBuilder sb = new StringBuilder();
+        long totalPeticiones = endpoints.values().stream().mapToLong(h -> h.total.sum()).sum();
+        long totalErrores = endpoints.values().stream().mapToLong(h -> h.errores.sum()).sum();
+        sb.append("{\n");
+        sb.append("  \"inicio\": \"").append(inicio).append("\",\n");
+        sb.append("  \"url\": \"").append(base).append("\",\n");
+        sb.append("  \"hilos\": ").append(hilos).append(",\n");
+        sb.append("  \"semilla\": ").append(semilla).append(",\n");
+        sb.append("  \"duracionSegundos\": ").append(fmt(segundos)).append(",\n");
+        sb.append("  \"peticiones\": ").append(totalPeticiones).append(",\n");
+        sb.append("  \"errores\": ").append(totalErrores).append(",\n");
+        sb.append("  \"throughput\": ").append(fmt(totalPeticiones / segundos)).append(",\n");
+        sb.append("  \"endpoints\": [");
+
+        Map<String, Histograma> ordenados = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> ordenados.put(e.getKey(), e.getValue()));
+        boolean primero = true;
+        for (Map.Entry<String, Histograma> e : ordenados.entrySet()) {
+            Histograma h = e.getValue();
+            long n = h.total.sum();
+            sb.append(primero ? "\n" : ",\n");
+            primero = false;
+            sb.append("    {\"endpoint\": \"").append(e.getKey()).append('"')
+                    .append(", \"peticiones\": ").append(n)
+                    .append(", \"errores\": ").append(h.errores.sum())
+                    .append(", \"throughput\": ").append(fmt(n / segundos))
+                    .append(", \"mediaMs\": ").append(fmt(n == 0 ? 0 : h.suma.sum() / (double) n / 1_000))
+                    .append(", \"p50Ms\": ").append(fmt(h.percentil(0.50) / 1_000.0))
+                    .append(", \"p99Ms\": ").append(fmt(h.percentil(0.99) / 1_000.0))
+                    .append(", \"p999Ms\": ").append(fmt(h.percentil(0.999) / 1_000.0))
+                    .append(", \"maxMs\": ").append(fmt(h.maximo / 1_000.0))
+                    .append('}');
+        }
+        sb.append("\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    private static String fmt(double v) {
+        return String.format(Locale.ROOT, "%.3f", v);
+    }
+
+    private static Map<String, String> opciones(String[] args) {
+        Map<String, String> opciones = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Opción inválida: " + args[i]);
+            }
+            opciones.put(args[i].substring(2), args[i + 1]);
+        }
+        return opciones;
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.restaurante.perf;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark de arranque: lanza la aplicación varias veces y mide el tiempo hasta la primera
+ * respuesta correcta (time-to-first-request), además del tiempo que informa Spring Boot
+ * ("Started ... in X seconds"). Cada corrida arranca un proceso nuevo y lo detiene al responder.
+ *
+ * Solo usa el JDK, se ejecuta sin compilar:
+ *   java src/perf/java/com/restaurante/perf/MedidorArranque.java --nombre base \
+ *        --comando "java -jar target/restaurante-backend-0.0.1-SNAPSHOT.jar --spring.profiles.active=perf" \
+ *        --repeticiones 5 --salida target/perf/arranque-base.json
+ * El comando se separa por espacios (sin comillas anidadas); --directorio fija el directorio de
+ * trabajo del proceso (AppCDS exige la misma ruta del jar que en la corrida de entrenamiento).
+ */
+public final class MedidorArranque {
+
+    private static final Pattern INICIADO = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private record Corrida(double primeraPeticionMs, double informadoMs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = opciones(args);
+        String nombre = opciones.getOrDefault("nombre", "arranque");
+        String comando = opciones.get("comando");
+        if (comando == null) {
+            throw new IllegalArgumentException("Falta --comando con la línea para iniciar la aplicación");
+        }
+        URI sonda = URI.create(opciones.getOrDefault("url", "http://localhost:8080")
+                + opciones.getOrDefault("ruta", "/api/v1/productos/disponibles"));
+        int repeticiones = Integer.parseInt(opciones.getOrDefault("repeticiones", "5"));
+        long limiteSegundos = Long.parseLong(opciones.getOrDefault("limite-segundos", "120"));
+        Path salida = Path.of(opciones.getOrDefault("salida", "target/perf/arranque-" + nombre + ".json"));
+        File directorio = new File(opciones.getOrDefault("directorio", "."));
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        List<Corrida> corridas = new ArrayList<>();
+        for (int i = 1; i <= repeticiones; i++) {
+            Corrida c = medir(Arrays.asList(comando.trim().split("\\s+")), directorio, cliente, sonda,
+                    limiteSegundos);
+            corridas.add(c);
+            System.out.printf(Locale.ROOT, "Corrida %d/%d: primera petición %.0f ms (Spring Boot: %.0f ms)%n",
+                    i, repeticiones, c.primeraPeticionMs(), c.informadoMs());
+        }
+
+        String json = reporte(nombre, comando, sonda, corridas);
+        if (salida.getParent() != null) {
+            Files.createDirectories(salida.getParent());
+        }
+        Files.writeString(salida, json);
+        System.out.println(json);
+        System.out.println("Resultado escrito en " + salida.toAbsolutePath());
+    }
+
+    private static Corrida medir(List<String> comando, File directorio, HttpClient cliente, URI sonda,
+                                 long limiteSegundos) throws IOException, InterruptedException {
+        double[] informado = {Double.NaN};
+        CountDownLatch iniciado = new CountDownLatch(1);
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando).directory(directorio).redirectErrorStream(true).start();
+
+        // Consumir la salida (si no, el proceso se bloquea) y tomar el tiempo que informa Spring Boot
+        Thread lector = new Thread(() -> {
+            try (BufferedReader r = new BufferedReader(
+                    new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+                String linea;
+                while ((linea = r.readLine()) != null) {
+                    Matcher m = INICIADO.matcher(linea);
+                    if (m.find()) {
+                        informado[0] = Double.parseDouble(m.group(1)) * 1000;
+                        iniciado.countDown();
+                    }
+                }
+            } catch (IOException ignorada) {
+                // El proceso terminó
+            }
+        }, "salida-aplicacion");
+        lector.setDaemon(true);
+        lector.start();
+
+        HttpRequest peticion = HttpRequest.newBuilder(sonda).timeout(Duration.ofSeconds(5)).GET().build();
+        long limite = inicio + TimeUnit.SECONDS.toNanos(limiteSegundos);
+        try {
+            while (System.nanoTime() < limite) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + proceso.exitValue());
+                }
+                try {
+                    if (cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        double primeraPeticionMs = (System.nanoTime() - inicio) / 1e6;
+                        // La línea "Started" se escribe casi a la vez que el servidor empieza a responder
+                        boolean informo = iniciado.await(2, TimeUnit.SECONDS);
+                        return new Corrida(primeraPeticionMs, informo ? informado[0] : Double.NaN);
+                    }
+                } catch (IOException aunNoEscucha) {
+                    // Puerto todavía cerrado
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sin respuesta de " + sonda + " en " + limiteSegundos + " s");
+        } finally {
+            proceso.destroy();
+            if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+            lector.join(1000);
+        }
+    }
+
+    private static String reporte(String nombre, String comando, URI sonda, List<Corrida> corridas) {
+        double[] primera = corridas.stream().mapToDouble(Corrida::primeraPeticionMs).sorted().toArray();
+        double[] informado = corridas.stream().mapToDouble(Corrida::informadoMs).filter(v -> !Double.isNaN(v))
+                .sorted().toArray();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"nombre\": \"").append(nombre).append("\",\n");
+        sb.append("  \"fecha\": \"").append(Instant.now()).append("\",\n");
+        sb.append("  \"comando\": \"").append(comando.replace("\\", "\\\\").replace("\"", "\\\"")).append("\",\n");
+        sb.append("  \"sonda\": \"").append(sonda).append("\",\n");
+        sb.append("  \"repeticiones\": ").append(corridas.size()).append(",\n");
+        sb.append("  \"primeraPeticionMs\": ").append(resumen(primera)).append(",\n");
+        sb.append("  \"springBootMs\": ").append(resumen(informado)).append(",\n");
+        sb.append("  \"corridas\": [");
+        for (int i = 0; i < corridas.size(); i++) {
+            Corrida c = corridas.get(i);
+            sb.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"primeraPeticionMs\": ").append(fmt(c.primeraPeticionMs()))
+                    .append(", \"springBootMs\": ").append(Double.isNaN(c.informadoMs()) ? "null" : fmt(c.informadoMs()))
+                    .append('}');
+        }
+        sb.append("\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    private static String resumen(double[] ordenados) {
+        if (ordenados.length == 0) {
+            return "null";
+        }
+        int n = ordenados.length;
+        double mediana = n % 2 == 1 ? ordenados[n / 2] : (ordenados[n / 2 - 1] + ordenados[n / 2]) / 2;
+        return "{\"min\": " + fmt(ordenados[0]) + ", \"mediana\": " + fmt(mediana)
+                + ", \"max\": " + fmt(ordenados[n - 1]) + "}";
+    }
+
+    private static String fmt(double v) {
+        return String.format(Locale.ROOT, "%.3f", v);
+    }
+
+    private static Map<String, String> opciones(String[] args) {
+        Map<String, String> opciones = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Opción inválida: " + args[i]);
+            }
+            opciones.put(args[i].substring(2), args[i + 1]);
+        }
+        return opciones;
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.restaurante;
+
+import com.restaurante.gestionEmpleados.repository.EmpleadoRepository;
+import com.restaurante.gestionInventario.repository.InventarioRepository;
+import com.restaurante.gestionInventario.repository.RecetaRepository;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.repository.HistorialPedidoRepository;
+import com.restaurante.gestionPedidos.repository.PedidoRepository;
+import com.restaurante.gestionProductos.repository.ProductoRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Índices de las consultas frecuentes: aplica las migraciones de db/migration (Flyway) sobre H2 en
+ * modo MariaDB, captura el SQL que Hibernate genera para cada método del repositorio y verifica
+ * con EXPLAIN que ninguna tabla se recorra completa y que se use el índice esperado.
+ * ddl-auto=validate comprueba además que las entidades coincidan con el esquema migrado.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indices;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.restaurante.IndicesConsultasTest$CapturaSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IndicesConsultasTest {
+
+    // Acceso a cada tabla en el plan de H2: "/* public.productos.tableScan */", "/* public.idx_x: col = ?1 */"
+    private static final Pattern ACCESO = Pattern.compile("/\\*\\s*(.*?)\\s*\\*/", Pattern.DOTALL);
+    // Índice recorrido entero, sin condición: "/* public.idx_x */"
+    private static final Pattern INDICE_COMPLETO = Pattern.compile("[\\w$]+\\.[\\w$]+");
+
+    /** Sentencias preparadas por Hibernate en el hilo de la prueba. */
+    public static class CapturaSql implements StatementInspector {
+
+        static final List<String> SENTENCIAS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private PedidoRepository pedidos;
+
+    @Autowired
+    private HistorialPedidoRepository historial;
+
+    @Autowired
+    private ProductoRepository productos;
+
+    @Autowired
+    private EmpleadoRepository empleados;
+
+    @Autowired
+    private InventarioRepository inventario;
+
+    @Autowired
+    private RecetaRepository recetas;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final LocalDateTime hasta = LocalDateTime.now();
+    private final LocalDateTime desde = hasta.minusDays(1);
+
+    @BeforeEach
+    void limpiarCaptura() {
+        CapturaSql.SENTENCIAS.clear();
+    }
+
+    @Test
+    void paginaDePedidosPorFecha() {
+        pedidos.findIdsPagina(desde, hasta, desde, 0L, Limit.of(50));
+        verificar("idx_pedidos_fecha_id");
+    }
+
+    @Test
+    void exportacionDePedidosPorFecha() {
+        try (var filas = pedidos.streamEntre(desde, hasta)) {
+            filas.count();
+        }
+        verificar("idx_pedidos_fecha_id");
+    }
+
+    @Test
+    void pedidosActivosPorEstado() {
+        pedidos.contarActivosPorEstado();
+        verificar("idx_pedidos_pagado_estado");
+    }
+
+    @Test
+    void unidadesPorProductoDeUnPedido() {
+        pedidos.contarUnidadesPorProducto(1L);
+        verificar("idx_detalles_pedido_producto");
+    }
+
+    @Test
+    void unidadesPorProductoDeLosPedidosEnUnEstado() {
+        pedidos.contarUnidadesPorProductoEnEstado(Pedido.EstadoPedido.COCINANDO);
+        verificar("idx_pedidos_estado", "idx_detalles_pedido_producto");
+    }
+
+    @Test
+    void historialDeUnPedido() {
+        historial.findByPedidoId(1L, PageRequest.of(0, 20,
+                Sort.by(Sort.Order.desc("registradoEn"), Sort.Order.desc("id"))));
+        verificar("idx_historial_pedido_registro");
+    }
+
+    @Test
+    void productosDisponibles() {
+        productos.findByDisponibleTrue();
+        verificar("idx_productos_disponible_categoria");
+    }
+
+    @Test
+    void productosPorCategoria() {
+        productos.findByCategoria("POSTRE");
+        verificar("idx_productos_categoria");
+    }
+
+    @Test
+    void empleadosPorRol() {
+        empleados.findByRol("MESERO");
+        verificar("idx_empleados_rol");
+    }
+
+    @Test
+    void insumosBajoStock() {
+        inventario.findByBajoStockIndexadoTrue();
+        verificar("idx_inventario_bajo_stock");
+    }
+
+    @Test
+    void recetasDeVariosProductos() {
+        recetas.findCantidadesPorProductos(List.of(1L, 2L));
+        // InnoDB resuelve producto_id con uk_receta_producto_insumo; H2 crea su propio índice para la FK
+        assertThat(verificar()).contains(": producto_id in(");
+    }
+
+    // Cada SELECT capturado sin recorridos completos; los índices esperados aparecen en algún plan
+    private String verificar(String... indicesEsperados) {
+        List<String> consultas = CapturaSql.SENTENCIAS.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertThat(consultas).as("SQL generado por el repositorio").isNotEmpty();
+
+        StringBuilder planes = new StringBuilder();
+        for (String sql : consultas) {
+            String plan = explicar(sql);
+            assertThat(recorridosCompletos(plan)).as("Recorridos completos en el plan:%n%s", plan).isEmpty();
+            planes.append(plan.toLowerCase(Locale.ROOT)).append('\n');
+        }
+        for (String indice : indicesEsperados) {
+            assertThat(planes.toString()).as("Planes sin el índice %s", indice).contains("." + indice + ":");
+        }
+        return planes.toString();
+    }
+
+    // EXPLAIN con los parámetros sin valor: H2 planifica la consulta preparada sin mirar los valores
+    private String explicar(String sql) {
+        return jdbc.query("EXPLAIN " + sql, ps -> {
+            int parametros = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parametros; i++) {
+                ps.setObject(i, null);
+            }
+        }, rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    private static List<String> recorridosCompletos(String plan) {
+        List<String> recorridos = new ArrayList<>();
+        Matcher m = ACCESO.matcher(plan);
+        while (m.find()) {
+            String acceso = m.group(1);
+            if (acceso.toLowerCase(Locale.ROOT).endsWith(".tablescan") || INDICE_COMPLETO.matcher(acceso).matches()) {
+                recorridos.add(acceso);
+            }
+        }
+        return recorridos;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.restaurante.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotenciaFilterTest {
+
+    private final IdempotenciaFilter filtro = new IdempotenciaFilter("/api/v1", 100, 600);
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+
+    @Test
+    void respuestaCorrectaSeRepiteSinEjecutarDeNuevo() throws Exception {
+        MockHttpServletResponse primera = enviar("k1", "{\"cliente\":\"Mesa 1\"}", responder(201));
+        MockHttpServletResponse segunda = enviar("k1", "{\"cliente\":\"Mesa 1\"}", responder(201));
+
+        assertThat(ejecuciones).hasValue(1);
+        assertThat(segunda.getStatus()).isEqualTo(201);
+        assertThat(segunda.getContentAsString()).isEqualTo(primera.getContentAsString());
+        assertThat(segunda.getHeader(IdempotenciaFilter.CABECERA_REPETIDA)).isEqualTo("true");
+    }
+
+    @Test
+    void conflictoTransitorioSeVuelveAEjecutar() throws Exception {
+        enviar("k2", "{}", responder(409));
+        MockHttpServletResponse reintento = enviar("k2", "{}", responder(201));
+
+        assertThat(ejecuciones).hasValue(2);
+        assertThat(reintento.getStatus()).isEqualTo(201);
+        assertThat(reintento.getHeader(IdempotenciaFilter.CABECERA_REPETIDA)).isNull();
+    }
+
+    @Test
+    void mismaClaveConOtroCuerpoSeRechaza() throws Exception {
+        enviar("k3", "{\"cantidad\":1}", responder(201));
+        MockHttpServletResponse otra = enviar("k3", "{\"cantidad\":2}", responder(201));
+
+        assertThat(ejecuciones).hasValue(1);
+        assertThat(otra.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void reintentoMientrasLaOriginalSigueEnCursoRespondeConflictoSinEsperar() throws Exception {
+        MockHttpServletResponse[] concurrente = new MockHttpServletResponse[1];
+        enviar("k4", "{}", (request, response) -> {
+            concurrente[0] = enviar("k4", "{}", responder(201));
+            responder(201).doFilter(request, response);
+        });
+
+        assertThat(concurrente[0].getStatus()).isEqualTo(409);
+        assertThat(ejecuciones).hasValue(1);
+    }
+
+    @Test
+    void cuerpoSeLeeTambienConLecturaNoBloqueante() throws Exception {
+        ByteArrayOutputStream leido = new ByteArrayOutputStream();
+        AtomicInteger completas = new AtomicInteger();
+        MockHttpServletResponse respuesta = enviar("k5", "{\"cliente\":\"Mesa 5\"}", (request, response) -> {
+            ServletInputStream entrada = request.getInputStream();
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] bloque = new byte[4];
+                    int n;
+                    while (entrada.isReady() && (n = entrada.read(bloque)) != -1) {
+                        leido.write(bloque, 0, n);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    completas.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        });
+
+        assertThat(respuesta.getStatus()).isEqualTo(201);
+        assertThat(leido.toString(StandardCharsets.UTF_8)).isEqualTo("{\"cliente\":\"Mesa 5\"}");
+        assertThat(completas).hasValue(1);
+    }
+
+    private FilterChain responder(int estado) {
+        return (request, response) -> {
+            ejecuciones.incrementAndGet();
+            // El controlador recibe el cuerpo completo aunque el filtro ya lo leyó
+            String cuerpo = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(estado);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"eco\":" + cuerpo.length() + ",\"n\":" + ejecuciones.get() + "}");
+        };
+    }
+
+    private MockHttpServletResponse enviar(String clave, String cuerpo, FilterChain cadena)
+            throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/pedidos");
+        request.addHeader(IdempotenciaFilter.CABECERA, clave);
+        request.setContentType("application/json");
+        request.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, cadena);
+        return response;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.restaurante.config.cache;
+
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.repository.ProductoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con app.cache.habilitada=false Hibernate no usa caché de segundo nivel: ninguna lectura de una
+ * entidad con @Cache ni consulta cacheable pone nada en regiones.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache_desactivada;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.cache.habilitada=false",
+        "app.datos-iniciales.habilitado=false"
+})
+class CacheDesactivadaTest {
+
+    @Autowired
+    private ProductoRepository productoRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void sinCacheNoSeGuardaNadaEnRegiones() {
+        SessionFactory fabrica = emf.unwrap(SessionFactory.class);
+        Statistics estadisticas = fabrica.getStatistics();
+        Long id = productoRepo.save(new Producto(null, "Tinto", "BEBIDA", new BigDecimal("2500"), true)).getId();
+        estadisticas.clear();
+
+        productoRepo.findById(id).orElseThrow();
+        productoRepo.findById(id).orElseThrow();
+        productoRepo.findByCategoria("BEBIDA");
+        productoRepo.findByCategoria("BEBIDA");
+
+        assertThat(fabrica.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isFalse();
+        assertThat(fabrica.getSessionFactoryOptions().isQueryCacheEnabled()).isFalse();
+        assertThat(estadisticas.getSecondLevelCachePutCount()).isZero();
+        assertThat(estadisticas.getQueryCachePutCount()).isZero();
+    }
+
+}
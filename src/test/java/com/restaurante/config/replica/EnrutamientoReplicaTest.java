@@ -0,0 +1,115 @@
+package com.restaurante.config.replica;
+
+import com.restaurante.gestionEmpleados.model.Empleado;
+import com.restaurante.gestionEmpleados.service.EmpleadoService;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.service.PedidoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutamiento de lecturas con dos bases H2 embebidas como primaria y réplica. La réplica solo
+ * recibe datos con ReplicacionH2.copiar, así que lo escrito después de la copia distingue de qué
+ * base leyó cada método.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:enrutamiento_primaria;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.datos-iniciales.habilitado=false",
+        "app.replica.habilitada=true",
+        "app.replica.url=jdbc:h2:mem:enrutamiento_replica;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.replica.username=sa",
+        "app.replica.retraso-maximo-ms=60000",
+        // Sin latidos programados: la prueba mide el retraso cuando lo necesita
+        "app.replica.intervalo-latido-ms=3600000"
+})
+class EnrutamientoReplicaTest {
+
+    @Autowired
+    private EnrutadorDataSource enrutador;
+
+    @Autowired
+    private EmpleadoService empleados;
+
+    @Autowired
+    private PedidoService pedidos;
+
+    @Autowired
+    private PlatformTransactionManager transacciones;
+
+    private JdbcTemplate primaria;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void replicar() throws Exception {
+        primaria = new JdbcTemplate(enrutador.primaria());
+        replica = new JdbcTemplate(enrutador.replica());
+        // Latido en la primaria, copia y medición: la réplica queda al día
+        enrutador.monitor().verificar();
+        ReplicacionH2.copiar(enrutador);
+        enrutador.monitor().verificar();
+        assertThat(enrutador.monitor().usarReplica()).isTrue();
+    }
+
+    @Test
+    void lecturaReadOnlyVaALaReplica() {
+        empleados.crear(new Empleado(null, "Solo en la primaria", "CAJERO", BigDecimal.TEN));
+
+        assertThat(contar(primaria, "SELECT COUNT(*) FROM empleados WHERE rol = 'CAJERO'")).isEqualTo(1);
+        assertThat(empleados.buscarPorRol("CAJERO")).isEmpty();
+    }
+
+    @Test
+    void replicaAtrasadaDevuelveLasLecturasALaPrimaria() {
+        empleados.crear(new Empleado(null, "Recién contratado", "HOST", BigDecimal.TEN));
+        // El último latido replicado es de hace una hora
+        replica.update("UPDATE replica_latido SET instante = ?", Timestamp.from(Instant.now().minusSeconds(3600)));
+        enrutador.monitor().verificar();
+
+        assertThat(enrutador.monitor().usarReplica()).isFalse();
+        assertThat(empleados.buscarPorRol("HOST")).extracting(Empleado::getNombre)
+                .containsExactly("Recién contratado");
+    }
+
+    @Test
+    void lecturaDentroDeUnaEscrituraSigueEnLaPrimaria() {
+        empleados.crear(new Empleado(null, "Encargado", "GERENTE", BigDecimal.TEN));
+
+        List<Empleado> leidos = new TransactionTemplate(transacciones)
+                .execute(estado -> empleados.buscarPorRol("GERENTE"));
+
+        assertThat(leidos).extracting(Empleado::getNombre).containsExactly("Encargado");
+    }
+
+    @Test
+    void historialPendienteSeEscribeEnLaPrimaria() {
+        Pedido pedido = pedidos.crearPedido("Mesa 7", null);
+
+        pedidos.historialDePedido(pedido.getId(), 0, 10);
+
+        String porPedido = "SELECT COUNT(*) FROM historial_pedidos WHERE pedido_id = " + pedido.getId();
+        assertThat(contar(primaria, porPedido)).isEqualTo(1);
+        assertThat(contar(replica, porPedido)).isZero();
+    }
+
+    private static int contar(JdbcTemplate jdbc, String sql) {
+        Integer n = jdbc.queryForObject(sql, Integer.class);
+        return n != null ? n : 0;
+    }
+
+}
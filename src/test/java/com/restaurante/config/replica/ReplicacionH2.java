@@ -0,0 +1,50 @@
+package com.restaurante.config.replica;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Replicación simulada entre las dos bases H2 de la prueba: copia la primaria completa sobre la
+ * réplica (SCRIPT + DROP ALL OBJECTS). Hasta la siguiente copia la réplica queda atrasada de verdad.
+ * Durante la recarga la réplica está vacía: antes se atrasa su latido y el monitor la descarta,
+ * como haría con una réplica real que deja de recibir cambios.
+ */
+final class ReplicacionH2 {
+
+    private ReplicacionH2() {
+    }
+
+    static void copiar(EnrutadorDataSource enrutador) throws SQLException {
+        atrasar(enrutador);
+        enrutador.monitor().verificar();
+        try (Connection origen = enrutador.primaria().getConnection();
+             Connection destino = enrutador.replica().getConnection();
+             Statement lectura = origen.createStatement();
+             Statement escritura = destino.createStatement()) {
+            escritura.execute("DROP ALL OBJECTS");
+            try (ResultSet script = lectura.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+                while (script.next()) {
+                    escritura.execute(script.getString(1));
+                }
+            }
+        }
+    }
+
+    // Latido replicado de hace una hora (sin tabla, la primera vez, la réplica ya se da por caída)
+    private static void atrasar(EnrutadorDataSource enrutador) {
+        try {
+            new JdbcTemplate(enrutador.replica()).update("UPDATE replica_latido SET instante = ?",
+                    Timestamp.from(Instant.now().minusSeconds(3600)));
+        } catch (DataAccessException e) {
+            // La réplica todavía no tiene el esquema
+        }
+    }
+
+}
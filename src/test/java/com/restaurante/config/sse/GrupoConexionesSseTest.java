@@ -0,0 +1,57 @@
+package com.restaurante.config.sse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrupoConexionesSseTest {
+
+    private static final int LIMITE = 10;
+
+    private final GrupoConexionesSse<ConexionSse> grupo = new GrupoConexionesSse<>("prueba", LIMITE, 4, 1, 3600);
+
+    @AfterEach
+    void cerrar() {
+        grupo.cerrar();
+    }
+
+    @Test
+    void conexionesSimultaneasNoSuperanElLimite() throws Exception {
+        int intentos = 64;
+        ExecutorService hilos = Executors.newFixedThreadPool(16);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < intentos; i++) {
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                try {
+                    grupo.abrir(id -> new ConexionSse(grupo, id));
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        salida.countDown();
+
+        int abiertas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            abiertas += resultado.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        hilos.shutdown();
+
+        assertThat(abiertas).isEqualTo(LIMITE);
+        assertThat(grupo.activas()).isEqualTo(LIMITE);
+        assertThat(grupo.conexiones()).hasSize(LIMITE);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.restaurante.gestionCocina.service;
+
+import com.restaurante.gestionEmpleados.model.Empleado;
+import com.restaurante.gestionEmpleados.repository.EmpleadoRepository;
+import com.restaurante.gestionPedidos.repository.PedidoRepository;
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.service.ProductoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlanificadorCocinaTest {
+
+    private static final long COCINERO = 7L;
+
+    private final EmpleadoRepository empleados = mock(EmpleadoRepository.class);
+    private final ProductoService productos = mock(ProductoService.class);
+
+    private final PlanificadorCocina cocina = new PlanificadorCocina(empleados, mock(PedidoRepository.class),
+            productos, new SimpleMeterRegistry(), List.of("BEBIDA_FRIA"), 0, true, 50);
+
+    @AfterEach
+    void cerrar() {
+        cocina.cerrar();
+    }
+
+    @Test
+    void finAutomaticoQueFallaSeReintenta() throws InterruptedException {
+        when(empleados.findById(COCINERO)).thenReturn(Optional.of(
+                new Empleado(COCINERO, "Cocinero", "COCINERO", BigDecimal.TEN)));
+        when(productos.buscarPorIds(any())).thenReturn(Map.of(
+                1L, new Producto(1L, "Bandeja", "PLATO_FUERTE", new BigDecimal("20000"), true)));
+        // El primer aviso falla (base de datos caída); el reintento funciona, pero no termina hasta
+        // que la prueba comprobó que el pedido seguía pendiente
+        AtomicInteger avisos = new AtomicInteger();
+        CountDownLatch comprobado = new CountDownLatch(1);
+        cocina.alCompletarPedido(id -> {
+            if (avisos.incrementAndGet() == 1) {
+                throw new DataAccessResourceFailureException("sin conexión");
+            }
+            try {
+                comprobado.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        cocina.encolar(10L, Map.of(1L, 2));
+        assertThat(cocina.siguiente(COCINERO)).isPresent();
+        assertThat(cocina.completar(COCINERO).isPedidoTerminado()).isTrue();
+        assertThat(cocina.colas()).containsEntry("pedidosPorTerminar", 1);
+        comprobado.countDown();
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!cocina.colas().get("pedidosPorTerminar").equals(0) && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(avisos.get()).isEqualTo(2);
+        assertThat(cocina.colas()).containsEntry("pedidosPorTerminar", 0);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.restaurante.gestionDiagnostico.controller;
+
+import com.restaurante.gestionDiagnostico.service.GrabacionJfrService;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrabacionJfrEndpointTest {
+
+    private final GrabacionJfrService jfr = new GrabacionJfrService(false, "default", 1, 10);
+    private final GrabacionJfrEndpoint endpoint = new GrabacionJfrEndpoint(jfr);
+
+    @AfterEach
+    void detener() {
+        jfr.detener();
+    }
+
+    @Test
+    void sinGrabacionActivaElVolcadoEsUnConflicto() {
+        assertThat(endpoint.volcado("volcado").getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void volcadoSinDatosDelEntornoYBorradoTrasEnviarlo() throws Exception {
+        endpoint.cambiar("iniciar");
+
+        WebEndpointResponse<Resource> respuesta = endpoint.volcado("volcado");
+        assertThat(respuesta.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        Path archivo = respuesta.getBody().getFile().toPath();
+        // Copia para inspeccionar el contenido: el original se borra al terminar de leerlo
+        Path copia = Files.createTempFile("prueba-", ".jfr");
+        try (InputStream entrada = respuesta.getBody().getInputStream()) {
+            Files.copy(entrada, copia, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        assertThat(archivo).doesNotExist();
+        try {
+            Set<String> tipos = RecordingFile.readAllEvents(copia).stream()
+                    .map(RecordedEvent::getEventType)
+                    .map(EventType::getName)
+                    .collect(Collectors.toSet());
+            assertThat(tipos).isNotEmpty()
+                    .doesNotContain("jdk.InitialSystemProperty", "jdk.InitialEnvironmentVariable", "jdk.JVMInformation");
+        } finally {
+            Files.deleteIfExists(copia);
+        }
+    }
+
+}
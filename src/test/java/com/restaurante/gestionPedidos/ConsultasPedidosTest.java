@@ -0,0 +1,155 @@
+package com.restaurante.gestionPedidos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.gestionPedidos.model.DetallePedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.repository.PedidoRepository;
+import com.restaurante.gestionPedidos.service.PedidoService;
+import com.restaurante.gestionProductos.model.Producto;
+import com.restaurante.gestionProductos.repository.ProductoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sentencias SQL por lectura de pedidos, contadas con las estadísticas de Hibernate. El listado y el
+ * detalle (incluida la serialización a JSON, que recorre detalles y productos) deben costar un
+ * número fijo de sentencias sin importar cuántos pedidos o líneas haya: un N+1 las haría crecer.
+ * La caché de segundo nivel se apaga en Hibernate (use_second_level_cache=false) y además se vacía
+ * antes de cada prueba: un Producto servido desde la caché ocultaría una carga perezosa.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:consultas_pedidos;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "app.cache.habilitada=false",
+        "app.datos-iniciales.habilitado=false"
+})
+@AutoConfigureMockMvc
+class ConsultasPedidosTest {
+
+    private static final int LINEAS_POR_PEDIDO = 3;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepo;
+
+    @Autowired
+    private ProductoRepository productoRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private PlatformTransactionManager transacciones;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void limpiar() {
+        jdbc.update("DELETE FROM detalles_pedido");
+        jdbc.update("DELETE FROM historial_pedidos");
+        jdbc.update("DELETE FROM pedidos");
+        jdbc.update("DELETE FROM productos");
+        emf.getCache().evictAll();
+        estadisticas = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listadoCuestaLoMismoConPocosYMuchosPedidos() throws Exception {
+        crearPedidos(2);
+        long conPocos = sentenciasDelListado(2);
+
+        crearPedidos(40);
+        long conMuchos = sentenciasDelListado(42);
+
+        // Ids de la página (keyset) y pedidos con detalles y productos (grafo de entidades)
+        assertThat(conPocos).isEqualTo(2);
+        assertThat(conMuchos).isEqualTo(conPocos);
+        assertThat(estadisticas.getSecondLevelCacheHitCount()).isZero();
+    }
+
+    @Test
+    void detalleSeLeeEnUnaSentencia() throws Exception {
+        Long id = crearPedidos(1).get(0);
+        TransactionTemplate lectura = new TransactionTemplate(transacciones);
+        lectura.setReadOnly(true);
+
+        estadisticas.clear();
+        String json = lectura.execute(estado -> {
+            Pedido pedido = pedidoService.buscarPorId(id).orElseThrow();
+            try {
+                return objectMapper.writeValueAsString(pedido);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estadisticas.getSecondLevelCacheHitCount()).isZero();
+        assertThat(objectMapper.readTree(json).get("detalles")).hasSize(LINEAS_POR_PEDIDO);
+    }
+
+    private long sentenciasDelListado(int pedidosEsperados) throws Exception {
+        estadisticas.clear();
+        mvc.perform(get("/api/v1/pedidos").param("tamano", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos.length()").value(pedidosEsperados))
+                .andExpect(jsonPath("$.pedidos[0].detalles[0].producto.nombre").exists());
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    // Cada pedido con LINEAS_POR_PEDIDO líneas de productos distintos
+    private List<Long> crearPedidos(int cantidad) {
+        return new TransactionTemplate(transacciones).execute(estado -> {
+            List<Producto> productos = new ArrayList<>();
+            for (int i = 0; i < LINEAS_POR_PEDIDO; i++) {
+                productos.add(productoRepo.save(new Producto(null, "Producto " + i, "BEBIDA", new BigDecimal("3500"), true)));
+            }
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < cantidad; i++) {
+                Pedido pedido = new Pedido(null, "Cliente " + i);
+                for (Producto producto : productos) {
+                    pedido.agregarDetalle(new DetallePedido(null, 2, 350000L, producto));
+                }
+                ids.add(pedidoRepo.save(pedido).getId());
+            }
+            return ids;
+        });
+    }
+
+}
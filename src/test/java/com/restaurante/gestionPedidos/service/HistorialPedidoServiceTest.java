@@ -0,0 +1,69 @@
+package com.restaurante.gestionPedidos.service;
+
+import com.restaurante.gestionPedidos.model.Pedido;
+import com.restaurante.gestionPedidos.repository.HistorialPedidoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class HistorialPedidoServiceTest {
+
+    private final HistorialPedidoRepository repo = mock(HistorialPedidoRepository.class);
+
+    // Sin volcados programados: la prueba llama a volcar() cuando lo necesita
+    private final HistorialPedidoService historial = new HistorialPedidoService(repo, 10, 10, 100, 3_600_000L, 3, 50);
+
+    private final CountDownLatch liberarEscritura = new CountDownLatch(1);
+
+    @AfterEach
+    void cerrar() {
+        liberarEscritura.countDown();
+        historial.cerrar();
+    }
+
+    @Test
+    void loteQueSiempreFallaSeDescartaTrasMaxIntentos() {
+        doThrow(new DataAccessResourceFailureException("sin conexión")).when(repo).insertarLote(anyList());
+        historial.registrar(new Pedido(1L, "Mesa 1"), "CREADO");
+        historial.registrar(new Pedido(1L, "Mesa 1"), "ENVIADO_COCINA");
+
+        assertThatThrownBy(historial::volcar).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThatThrownBy(historial::volcar).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(historial.pendientes()).isEqualTo(2);
+
+        historial.volcar();
+
+        verify(repo, times(3)).insertarLote(anyList());
+        assertThat(historial.pendientes()).isZero();
+        assertThat(historial.descartados()).isEqualTo(2);
+    }
+
+    @Test
+    void lecturaNoEsperaAUnVolcadoBloqueado() {
+        historial.registrar(new Pedido(1L, "Mesa 1"), "CREADO");
+        // La escritura del lote queda bloqueada (pool sin conexiones libres) hasta el final de la prueba
+        doAnswer(invocacion -> {
+            liberarEscritura.await();
+            return null;
+        }).when(repo).insertarLote(anyList());
+
+        long inicio = System.nanoTime();
+        historial.volcarAntesDeLeer();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(2));
+        assertThat(historial.pendientes()).isEqualTo(1);
+    }
+
+}
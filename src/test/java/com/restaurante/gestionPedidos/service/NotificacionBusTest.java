@@ -0,0 +1,73 @@
+package com.restaurante.gestionPedidos.service;
+
+import com.restaurante.gestionPedidos.model.EventoPedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificacionBusTest {
+
+    private static final int PEDIDOS = 8;
+    private static final int EVENTOS_POR_PEDIDO = 50;
+
+    private final NotificacionBus bus = new NotificacionBus(10_000, 4, 10);
+
+    @AfterEach
+    void detener() throws InterruptedException {
+        bus.detener();
+    }
+
+    @Test
+    void eventosDeUnPedidoLleganEnOrden() throws InterruptedException {
+        Map<Long, List<Long>> recibidos = new ConcurrentHashMap<>();
+        CountDownLatch pendientes = new CountDownLatch(PEDIDOS * EVENTOS_POR_PEDIDO);
+        bus.suscribir("prueba", evento -> {
+            // Entregas de duración desigual: con despachadores repartidos en ronda se adelantarían
+            if (evento.getSecuencia() % 3 == 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(500));
+            }
+            recibidos.computeIfAbsent(evento.getIdPedido(), id -> new ArrayList<>()).add(evento.getSecuencia());
+            pendientes.countDown();
+        });
+        bus.iniciar();
+
+        for (int i = 0; i < EVENTOS_POR_PEDIDO; i++) {
+            for (long id = 1; id <= PEDIDOS; id++) {
+                assertThat(bus.publicar(EventoPedido.Tipo.CREADO, new Pedido(id, "Cliente " + id))).isTrue();
+            }
+        }
+
+        assertThat(pendientes.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(recibidos).hasSize(PEDIDOS);
+        recibidos.values().forEach(secuencias -> assertThat(secuencias).hasSize(EVENTOS_POR_PEDIDO).isSorted());
+    }
+
+    @Test
+    void detenerEntregaLoQueQuedaEnCola() throws InterruptedException {
+        List<Long> recibidos = new ArrayList<>();
+        bus.suscribir("prueba", evento -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            recibidos.add(evento.getSecuencia());
+        });
+        bus.iniciar();
+        for (int i = 0; i < 20; i++) {
+            bus.publicar(EventoPedido.Tipo.CREADO, new Pedido(1L, "Cliente"));
+        }
+
+        bus.detener();
+
+        assertThat(recibidos).hasSize(20).isSorted();
+        assertThat(bus.metricas()).containsEntry("profundidadCola", 0);
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.restaurante.gestionPedidos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.gestionPedidos.controller.PedidoController;
+import com.restaurante.gestionPedidos.model.EventoPedido;
+import com.restaurante.gestionPedidos.model.Pedido;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class PedidoStreamServiceTest {
+
+    private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    // Escrituras del cliente "lento" bloqueadas hasta el final de la prueba
+    private final CountDownLatch liberarLento = new CountDownLatch(1);
+
+    private PedidoStreamService servicio;
+    private NotificacionBus.Suscriptor suscriptor;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void iniciar() {
+        NotificacionBus bus = mock(NotificacionBus.class);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        // Reenvío de 2 eventos y cola de 2 por conexión: caben 3 eventos en espera
+        servicio = new PedidoStreamService(bus, objectMapper, 2, 10, 2, 2, 3600);
+        ArgumentCaptor<NotificacionBus.Suscriptor> captor = ArgumentCaptor.forClass(NotificacionBus.Suscriptor.class);
+        verify(bus).suscribir(eq("stream-sse"), captor.capture());
+        suscriptor = captor.getValue();
+
+        Filter clienteLento = (req, res, cadena) -> cadena.doFilter(req,
+                ((HttpServletRequest) req).getHeader("X-Cliente-Lento") != null
+                        ? new RespuestaBloqueada((HttpServletResponse) res)
+                        : res);
+        mvc = MockMvcBuilders
+                .standaloneSetup(new PedidoController(mock(PedidoService.class), servicio, objectMapper))
+                .addFilters(clienteLento)
+                .build();
+    }
+
+    @AfterEach
+    void cerrar() {
+        liberarLento.countDown();
+        servicio.cerrar();
+    }
+
+    @Test
+    void difundeYReenviaSoloTramosContiguosDeSecuencias() throws Exception {
+        MockHttpServletResponse enVivo = conectar(null);
+
+        // El despachador del pedido 2 se adelanta al del pedido 1
+        suscriptor.recibir(evento(2, 2L));
+        MockHttpServletResponse reconectado = conectar(0L);
+        suscriptor.recibir(evento(1, 1L));
+
+        esperar(() -> ids(enVivo).size() == 2 && ids(reconectado).size() == 2);
+        assertThat(ids(enVivo)).containsExactly(1L, 2L);
+        assertThat(ids(reconectado)).containsExactly(1L, 2L);
+
+        MockHttpServletResponse desdeElPrimero = conectar(1L);
+        esperar(() -> ids(desdeElPrimero).size() == 1);
+        assertThat(ids(desdeElPrimero)).containsExactly(2L);
+    }
+
+    @Test
+    void clienteLentoNoDetieneAlDespachadorYSeDesconecta() throws Exception {
+        MockHttpServletResponse rapido = conectar(null);
+        mvc.perform(get("/api/v1/pedidos/stream").header("X-Cliente-Lento", "si"))
+                .andExpect(request().asyncStarted());
+        assertThat(servicio.conexionesActivas()).isEqualTo(2);
+
+        // El envío al cliente lento queda bloqueado: el despachador del bus solo encola, y el
+        // cliente rápido (que lee cada evento antes del siguiente) sigue recibiendo
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (long seq = 1; seq <= 10; seq++) {
+                suscriptor.recibir(evento(seq, seq));
+                int recibidos = (int) seq;
+                esperar(() -> ids(rapido).size() == recibidos);
+            }
+        });
+
+        assertThat(ids(rapido)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(servicio.conexionesActivas()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse conectar(Long ultimoEventoId) throws Exception {
+        var peticion = get("/api/v1/pedidos/stream");
+        if (ultimoEventoId != null) {
+            peticion.header("Last-Event-ID", ultimoEventoId);
+        }
+        MvcResult resultado = mvc.perform(peticion).andExpect(request().asyncStarted()).andReturn();
+        return resultado.getResponse();
+    }
+
+    private static EventoPedido evento(long secuencia, long idPedido) {
+        return new EventoPedido(secuencia, EventoPedido.Tipo.CREADO, new Pedido(idPedido, "Cliente " + idPedido));
+    }
+
+    private static List<Long> ids(MockHttpServletResponse respuesta) {
+        List<Long> ids = new ArrayList<>();
+        try {
+            Matcher m = ID.matcher(respuesta.getContentAsString());
+            while (m.find()) {
+                ids.add(Long.parseLong(m.group(1)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return ids;
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    // Respuesta cuyo cuerpo no avanza: cada escritura espera a que termine la prueba
+    private class RespuestaBloqueada extends HttpServletResponseWrapper {
+
+        RespuestaBloqueada(HttpServletResponse respuesta) {
+            super(respuesta);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    try {
+                        liberarLento.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                }
+            };
+        }
+    }
+
+}